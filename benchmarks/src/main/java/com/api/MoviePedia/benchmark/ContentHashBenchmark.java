@@ -0,0 +1,47 @@
+package com.api.MoviePedia.benchmark;
+
+import com.api.MoviePedia.util.ContentHashes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the SHA-256 pass that spools and deduplicates uploaded pictures.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContentHashBenchmark {
+    @Param({"65536", "1048576", "8388608"})
+    public int imageSize;
+
+    private byte[] image;
+
+    @Setup
+    public void setUp(){
+        image = new byte[imageSize];
+        new Random(42).nextBytes(image);
+    }
+
+    @Benchmark
+    public String copyAndHash() throws IOException {
+        return ContentHashes.copyAndHash(new ByteArrayInputStream(image), OutputStream.nullOutputStream(), Long.MAX_VALUE);
+    }
+}
@@ -0,0 +1,76 @@
+package com.api.MoviePedia.benchmark;
+
+import com.api.MoviePedia.service.impl.JWTServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JWTServiceBenchmark {
+    private static final String SECRET_KEY = "benchmark-secret-key-that-is-at-least-256-bits-long";
+    private static final String REFRESH_TOKEN_SECRET_KEY = "benchmark-refresh-token-key-that-is-at-least-256-bits-long";
+    private static final int UNCACHED_TOKEN_COUNT = 4096;
+
+    private JWTServiceImpl cachingJwtService;
+    private JWTServiceImpl nonCachingJwtService;
+    private String cachedToken;
+    private String[] uncachedTokens;
+    private int uncachedTokenIndex;
+
+    @Setup
+    public void setUp(){
+        cachingJwtService = createJwtService(10_000L);
+        nonCachingJwtService = createJwtService(1L);
+        cachedToken = cachingJwtService.generateAccessToken(1L, "ROLE_USER");
+        uncachedTokens = new String[UNCACHED_TOKEN_COUNT];
+        for (int tokenIndex = 0; tokenIndex < UNCACHED_TOKEN_COUNT; tokenIndex++) {
+            uncachedTokens[tokenIndex] = nonCachingJwtService.generateAccessToken((long) tokenIndex, "ROLE_USER");
+        }
+    }
+
+    @Benchmark
+    public String generateAccessToken(){
+        return cachingJwtService.generateAccessToken(42L, "ROLE_USER");
+    }
+
+    @Benchmark
+    public Map<String, Object> validateCachedToken(){
+        return cachingJwtService.validateToken(cachedToken);
+    }
+
+    @Benchmark
+    public Map<String, Object> validateUncachedToken(){
+        uncachedTokenIndex = (uncachedTokenIndex + 1) % UNCACHED_TOKEN_COUNT;
+        return nonCachingJwtService.validateToken(uncachedTokens[uncachedTokenIndex]);
+    }
+
+    private JWTServiceImpl createJwtService(Long verifiedTokenCacheMaximumSize){
+        JWTServiceImpl jwtService = new JWTServiceImpl(null, null, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtService, "accessTokenExpirationTime", (int) TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(jwtService, "refreshTokenExpirationTime", (int) TimeUnit.HOURS.toMillis(3));
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET_KEY);
+        ReflectionTestUtils.setField(jwtService, "refreshTokenSecretKey", REFRESH_TOKEN_SECRET_KEY);
+        ReflectionTestUtils.setField(jwtService, "verifiedTokenCacheMaximumSize", verifiedTokenCacheMaximumSize);
+        ReflectionTestUtils.setField(jwtService, "refreshTokenCacheMaximumSize", 10_000L);
+        ReflectionTestUtils.setField(jwtService, "refreshTokenCacheExpireAfterWriteMs", TimeUnit.MINUTES.toMillis(5));
+        jwtService.initializeTokenVerification();
+        return jwtService;
+    }
+}
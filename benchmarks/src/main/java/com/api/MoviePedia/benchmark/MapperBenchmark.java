@@ -0,0 +1,132 @@
+package com.api.MoviePedia.benchmark;
+
+import com.api.MoviePedia.enumeration.Genre;
+import com.api.MoviePedia.enumeration.ImageStatus;
+import com.api.MoviePedia.model.movie.MovieRetrievalDto;
+import com.api.MoviePedia.model.review.ReviewRetrievalDto;
+import com.api.MoviePedia.repository.model.ActorEntity;
+import com.api.MoviePedia.repository.model.DirectorEntity;
+import com.api.MoviePedia.repository.model.ImgurImageEntity;
+import com.api.MoviePedia.repository.model.MovieEntity;
+import com.api.MoviePedia.repository.model.ReviewEntity;
+import com.api.MoviePedia.repository.model.UserEntity;
+import com.api.MoviePedia.util.mapper.ActorMapperImpl;
+import com.api.MoviePedia.util.mapper.DirectorMapperImpl;
+import com.api.MoviePedia.util.mapper.MovieMapper;
+import com.api.MoviePedia.util.mapper.MovieMapperImpl;
+import com.api.MoviePedia.util.mapper.ReviewMapper;
+import com.api.MoviePedia.util.mapper.ReviewMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+    private static final int MOVIE_COUNT = 100;
+
+    @Param({"5", "50"})
+    public int actorsPerMovie;
+
+    @Param({"1000"})
+    public int reviewCount;
+
+    private MovieMapper movieMapper;
+    private ReviewMapper reviewMapper;
+    private List<MovieEntity> movies;
+    private List<ReviewEntity> reviews;
+
+    @Setup
+    public void setUp(){
+        movieMapper = new MovieMapperImpl();
+        ReflectionTestUtils.setField(movieMapper, "actorMapper", new ActorMapperImpl());
+        ReflectionTestUtils.setField(movieMapper, "directorMapper", new DirectorMapperImpl());
+        reviewMapper = new ReviewMapperImpl();
+
+        DirectorEntity director = new DirectorEntity(1L, 0L, "Lana", "Wachowski", LocalDate.of(1965, 6, 21), "Director biography",
+                new HashSet<>(), image("director"));
+        movies = new ArrayList<>(MOVIE_COUNT);
+        for (long movieId = 0; movieId < MOVIE_COUNT; movieId++) {
+            Set<ActorEntity> actors = new HashSet<>();
+            for (long actorId = 0; actorId < actorsPerMovie; actorId++) {
+                actors.add(new ActorEntity(movieId * actorsPerMovie + actorId, 0L, "Actor", "Surname " + actorId, LocalDate.of(1970, 1, 1),
+                        "Actor biography", new HashSet<>(), image("actor-" + actorId)));
+            }
+            MovieEntity movie = new MovieEntity();
+            movie.setId(movieId);
+            movie.setVersion(0L);
+            movie.setTitle("Movie " + movieId);
+            movie.setDescription("Movie description");
+            movie.setYear(1999);
+            movie.setGenre(Genre.values()[(int) (movieId % Genre.values().length)]);
+            movie.setTotalRating(80);
+            movie.setTotalVotes(10);
+            movie.setRating(8.0);
+            movie.setDirector(director);
+            movie.setActors(actors);
+            movie.setImgurImageEntity(image("movie-" + movieId));
+            movies.add(movie);
+        }
+
+        UserEntity reviewer = new UserEntity();
+        reviewer.setId(1L);
+        reviewer.setUsername("reviewer");
+        reviews = new ArrayList<>(reviewCount);
+        for (long reviewId = 0; reviewId < reviewCount; reviewId++) {
+            ReviewEntity review = new ReviewEntity();
+            review.setId(reviewId);
+            review.setText("Review text " + reviewId);
+            review.setReviewer(reviewer);
+            review.setMovie(movies.get((int) (reviewId % MOVIE_COUNT)));
+            reviews.add(review);
+        }
+
+        MovieEntity sampleMovie = movies.get(0);
+        if (movieMapper.entityToRetrievalDto(sampleMovie, sampleMovie.getImgurImageEntity().getLink()).getDirector().getThumbnailFilePath() == null){
+            throw new IllegalStateException("MovieMapper is not delegating nested director and actor mappings");
+        }
+    }
+
+    @Benchmark
+    public List<MovieRetrievalDto> mapMovies(){
+        List<MovieRetrievalDto> movieDtos = new ArrayList<>(movies.size());
+        for (MovieEntity movie : movies) {
+            movieDtos.add(movieMapper.entityToRetrievalDto(movie, movie.getImgurImageEntity().getLink()));
+        }
+        return movieDtos;
+    }
+
+    @Benchmark
+    public List<ReviewRetrievalDto> mapReviews(){
+        List<ReviewRetrievalDto> reviewDtos = new ArrayList<>(reviews.size());
+        for (ReviewEntity review : reviews) {
+            reviewDtos.add(reviewMapper.entityToRetrievalDto(review, 3, 1));
+        }
+        return reviewDtos;
+    }
+
+    private ImgurImageEntity image(String id){
+        return new ImgurImageEntity(id, "https://i.imgur.com/" + id + ".png", id + "-delete", ImageStatus.READY, null, 1,
+                "https://i.imgur.com/" + id + "t.png", null, "https://i.imgur.com/" + id + "c.png", null, null, null);
+    }
+}
@@ -0,0 +1,64 @@
+package com.api.MoviePedia.benchmark;
+
+import com.api.MoviePedia.builder.MovieSpecificationBuilder;
+import com.api.MoviePedia.enumeration.DataOption;
+import com.api.MoviePedia.enumeration.SearchOperation;
+import com.api.MoviePedia.model.movie.SearchCriteriaDto;
+import com.api.MoviePedia.repository.model.MovieEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures composing search specifications. Rendering them to predicates needs a JPA metamodel and is covered
+ * by the SQL statement metrics of the running application instead.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MovieSpecificationBenchmark {
+    @Param({"1", "5", "20"})
+    public int criteriaCount;
+
+    private List<SearchCriteriaDto> searchCriteria;
+
+    @Setup
+    public void setUp(){
+        searchCriteria = new ArrayList<>(criteriaCount);
+        for (int criteriaIndex = 0; criteriaIndex < criteriaCount; criteriaIndex++) {
+            SearchCriteriaDto criteria = switch (criteriaIndex % 4){
+                case 0 -> new SearchCriteriaDto("movie", "title", "matrix", SearchOperation.CONTAINS);
+                case 1 -> new SearchCriteriaDto("director", "surname", "wachowski", SearchOperation.EQUAL);
+                case 2 -> new SearchCriteriaDto("actor", "name", "keanu", SearchOperation.CONTAINS);
+                default -> new SearchCriteriaDto("movie", "year", "1999", SearchOperation.GREATER_THAN_EQUAL);
+            };
+            criteria.setDataOption(criteriaIndex % 2 == 0 ? DataOption.ALL : DataOption.ANY);
+            searchCriteria.add(criteria);
+        }
+    }
+
+    @Benchmark
+    public Specification<MovieEntity> buildSpecification(){
+        MovieSpecificationBuilder movieSpecificationBuilder = new MovieSpecificationBuilder();
+        for (SearchCriteriaDto criteria : searchCriteria) {
+            movieSpecificationBuilder.with(criteria);
+        }
+        return movieSpecificationBuilder.build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.api.MoviePedia.benchmark;
+
+import com.api.MoviePedia.enumeration.Genre;
+import com.api.MoviePedia.repository.model.MovieEntity;
+import com.api.MoviePedia.service.impl.LeaderboardServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RatingAggregationBenchmark {
+    @Param({"1000", "100000"})
+    public int movieCount;
+
+    private LeaderboardServiceImpl leaderboardService;
+    private MovieEntity[] movies;
+    private int ratedMovieIndex;
+
+    @Setup
+    public void setUp(){
+        leaderboardService = new LeaderboardServiceImpl(null, null);
+        ReflectionTestUtils.setField(leaderboardService, "minimumVotes", 10);
+        Genre[] genres = Genre.values();
+        movies = new MovieEntity[movieCount];
+        for (int movieIndex = 0; movieIndex < movieCount; movieIndex++) {
+            MovieEntity movie = new MovieEntity();
+            movie.setId((long) movieIndex);
+            movie.setGenre(genres[movieIndex % genres.length]);
+            movie.setTotalVotes(1 + movieIndex % 50);
+            movie.setTotalRating(movie.getTotalVotes() * (1 + movieIndex % 10));
+            movies[movieIndex] = movie;
+            leaderboardService.updateMovie(movie);
+        }
+        leaderboardService.rebuildLeaderboards();
+    }
+
+    @Benchmark
+    public MovieEntity rateMovie(){
+        MovieEntity movie = nextMovie();
+        movie.rateMovie(7);
+        leaderboardService.updateMovie(movie);
+        return movie;
+    }
+
+    @Benchmark
+    public void rateMovieAndRebuildLeaderboards(){
+        MovieEntity movie = nextMovie();
+        movie.rateMovie(7);
+        leaderboardService.updateMovie(movie);
+        leaderboardService.rebuildLeaderboards();
+    }
+
+    private MovieEntity nextMovie(){
+        ratedMovieIndex = (ratedMovieIndex + 1) % movies.length;
+        return movies[ratedMovieIndex];
+    }
+}
@@ -0,0 +1,47 @@
+package com.api.MoviePedia.config;
+
+import com.api.MoviePedia.repository.model.IdGenerators;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@RequiredArgsConstructor
+@DependsOn("entityManagerFactory")
+@Component
+public class IdGeneratorInitializer {
+    private static final Map<String, String> GENERATED_ID_COLUMNS = Map.of(
+            "ratings", "rating_id",
+            "likes", "id",
+            "dislikes", "id",
+            "reviews", "review_id",
+            "movies", "movie_id",
+            "actors", "actor_id",
+            "directors", "director_id"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void alignGeneratorsWithExistingIds(){
+        GENERATED_ID_COLUMNS.forEach(this::alignGenerator);
+    }
+
+    private void alignGenerator(String tableName, String idColumn){
+        Long maxId = jdbcTemplate.queryForObject("select max(" + idColumn + ") from " + tableName, Long.class);
+        if (maxId == null){
+            return;
+        }
+        long minimumNextValue = maxId + IdGenerators.ALLOCATION_SIZE + 1;
+        int updatedRows = jdbcTemplate.update("update " + IdGenerators.TABLE + " set " + IdGenerators.VALUE_COLUMN + " = ? where " +
+                IdGenerators.NAME_COLUMN + " = ? and " + IdGenerators.VALUE_COLUMN + " < ?", minimumNextValue, tableName, minimumNextValue);
+        if (updatedRows == 0){
+            jdbcTemplate.update("insert into " + IdGenerators.TABLE + " (" + IdGenerators.NAME_COLUMN + ", " + IdGenerators.VALUE_COLUMN + ") " +
+                    "select ?, ? from dual where not exists (select 1 from " + IdGenerators.TABLE + " where " + IdGenerators.NAME_COLUMN + " = ?)",
+                    tableName, minimumNextValue, tableName);
+        }
+    }
+}
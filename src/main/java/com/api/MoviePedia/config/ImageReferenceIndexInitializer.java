@@ -0,0 +1,53 @@
+package com.api.MoviePedia.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Slf4j
+@RequiredArgsConstructor
+@DependsOn("entityManagerFactory")
+@Component
+public class ImageReferenceIndexInitializer {
+    private static final String IMAGE_COLUMN = "id_imgur_image";
+    private static final List<String> IMAGE_REFERENCING_TABLES = List.of("actors", "directors", "movies");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void dropUniqueImageIndexes(){
+        // information_schema.statistics and "drop index" are MySQL's, other databases get their schema from Hibernate
+        String databaseProductName = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"MySQL".equals(databaseProductName)){
+            return;
+        }
+        IMAGE_REFERENCING_TABLES.forEach(this::dropUniqueImageIndexes);
+    }
+
+    private void dropUniqueImageIndexes(String tableName){
+        List<String> uniqueIndexes = findImageIndexes(tableName, true);
+        if (uniqueIndexes.isEmpty()){
+            return;
+        }
+        // the foreign key needs an index on the column, so a plain one has to exist before the unique one can go
+        if (findImageIndexes(tableName, false).isEmpty()){
+            jdbcTemplate.execute("create index idx_" + tableName + "_" + IMAGE_COLUMN + " on " + tableName + " (" + IMAGE_COLUMN + ")");
+        }
+        for (String uniqueIndex : uniqueIndexes) {
+            log.info("Dropping unique index {} on {}.{}", uniqueIndex, tableName, IMAGE_COLUMN);
+            jdbcTemplate.execute("alter table " + tableName + " drop index `" + uniqueIndex + "`");
+        }
+    }
+
+    private List<String> findImageIndexes(String tableName, boolean unique){
+        return jdbcTemplate.queryForList("select distinct index_name from information_schema.statistics " +
+                "where table_schema = database() and table_name = ? and column_name = ? and non_unique = ? and index_name <> 'PRIMARY'",
+                String.class, tableName, IMAGE_COLUMN, unique ? 0 : 1);
+    }
+}
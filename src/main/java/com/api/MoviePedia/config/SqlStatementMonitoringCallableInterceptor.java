@@ -0,0 +1,27 @@
+package com.api.MoviePedia.config;
+
+import com.api.MoviePedia.util.SqlStatementStatistics;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Binds the statistics of the request to the MVC task executor thread while a {@link Callable} or
+ * {@link org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody} runs, so statements issued while
+ * writing a streamed response are reported with the request that started it.
+ */
+public class SqlStatementMonitoringCallableInterceptor implements CallableProcessingInterceptor {
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        SqlStatementStatistics statistics = (SqlStatementStatistics) request.getAttribute(SqlStatementStatistics.REQUEST_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        SqlStatementStatistics.bind(statistics);
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        SqlStatementStatistics.bind(null);
+    }
+}
@@ -0,0 +1,51 @@
+package com.api.MoviePedia.config;
+
+import com.api.MoviePedia.util.jdbc.MonitoredDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "sql-monitoring.enabled", havingValue = "true")
+@Configuration
+public class SqlStatementMonitoringConfiguration implements WebMvcConfigurer {
+    @Value("${sql-monitoring.statement-budget}")
+    private Integer statementBudget;
+
+    @Value("${sql-monitoring.n-plus-one-threshold}")
+    private Integer nPlusOneThreshold;
+
+    private final MeterRegistry meterRegistry;
+
+    @Bean
+    public static BeanPostProcessor monitoredDataSourcePostProcessor(){
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof MonitoredDataSource)){
+                    return new MonitoredDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SqlStatementMonitoringInterceptor(meterRegistry, statementBudget, nPlusOneThreshold));
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new SqlStatementMonitoringCallableInterceptor());
+    }
+}
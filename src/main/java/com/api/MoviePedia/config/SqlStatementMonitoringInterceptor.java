@@ -0,0 +1,71 @@
+package com.api.MoviePedia.config;
+
+import com.api.MoviePedia.util.SqlStatementStatistics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@RequiredArgsConstructor
+public class SqlStatementMonitoringInterceptor implements AsyncHandlerInterceptor {
+    private static final String SQL_METRIC = "sql";
+
+    private final MeterRegistry meterRegistry;
+    private final Integer statementBudget;
+    private final Integer nPlusOneThreshold;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)){
+            return true;
+        }
+        SqlStatementStatistics statistics = (SqlStatementStatistics) request.getAttribute(SqlStatementStatistics.REQUEST_ATTRIBUTE);
+        if (statistics == null){
+            statistics = new SqlStatementStatistics(handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName());
+            request.setAttribute(SqlStatementStatistics.REQUEST_ATTRIBUTE, statistics);
+        }
+        SqlStatementStatistics.bind(statistics);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlStatementStatistics.bind(null);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception exception) {
+        SqlStatementStatistics.bind(null);
+        SqlStatementStatistics statistics = (SqlStatementStatistics) request.getAttribute(SqlStatementStatistics.REQUEST_ATTRIBUTE);
+        if (statistics != null){
+            report(statistics);
+        }
+    }
+
+    private void report(SqlStatementStatistics statistics){
+        String handlerName = statistics.getName();
+        long statementCount = statistics.getStatementCount();
+        DistributionSummary.builder(SQL_METRIC + ".statements").tag("handler", handlerName).register(meterRegistry).record(statementCount);
+        DistributionSummary.builder(SQL_METRIC + ".rows").tag("handler", handlerName).register(meterRegistry).record(statistics.getRowCount());
+        meterRegistry.timer(SQL_METRIC + ".time", "handler", handlerName).record(statistics.getDatabaseTimeNanos(), TimeUnit.NANOSECONDS);
+
+        if (statementCount > statementBudget){
+            meterRegistry.counter(SQL_METRIC + ".budget_exceeded", "handler", handlerName).increment();
+            log.warn("{} executed {} SQL statements (budget {}), fetched {} rows, spent {} ms in the database", handlerName, statementCount,
+                    statementBudget, statistics.getRowCount(), TimeUnit.NANOSECONDS.toMillis(statistics.getDatabaseTimeNanos()));
+        }
+        Map<String, Long> repeatedShapes = statistics.getRepeatedStatementShapes(nPlusOneThreshold);
+        if (!repeatedShapes.isEmpty()){
+            meterRegistry.counter(SQL_METRIC + ".n_plus_one", "handler", handlerName).increment();
+            repeatedShapes.forEach((shape, executions) -> log.warn("Possible N+1 in {}: {} executions of {}", handlerName, executions, shape));
+        }
+    }
+}
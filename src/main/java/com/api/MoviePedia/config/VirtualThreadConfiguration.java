@@ -0,0 +1,82 @@
+package com.api.MoviePedia.config;
+
+import com.api.MoviePedia.util.ThreadFactories;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.task.TaskSchedulerCustomizer;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadFactory;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "execution.virtual-threads.enabled", havingValue = "true")
+@Configuration
+public class VirtualThreadConfiguration {
+    private static final String VIRTUAL_THREAD_PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int PINNED_STACK_DEPTH = 12;
+
+    @Value("${execution.virtual-threads.pinned-threshold-ms}")
+    private Long pinnedThresholdMs;
+
+    private final MeterRegistry meterRegistry;
+
+    private RecordingStream pinningRecordingStream;
+
+    @PostConstruct
+    public void startPinningDiagnostics(){
+        Counter pinnedCounter = meterRegistry.counter("virtual_threads.pinned");
+        pinningRecordingStream = new RecordingStream();
+        pinningRecordingStream.enable(VIRTUAL_THREAD_PINNED_EVENT)
+                .withThreshold(Duration.ofMillis(pinnedThresholdMs))
+                .withStackTrace();
+        pinningRecordingStream.onEvent(VIRTUAL_THREAD_PINNED_EVENT, event -> {
+            pinnedCounter.increment();
+            log.warn("Virtual thread pinned its carrier for {} ms at {}", event.getDuration().toMillis(), formatStackTrace(event));
+        });
+        pinningRecordingStream.startAsync();
+    }
+
+    @PreDestroy
+    public void stopPinningDiagnostics(){
+        pinningRecordingStream.close();
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(){
+        ThreadFactory requestThreadFactory = ThreadFactories.virtual("http-vt-");
+        return protocolHandler -> protocolHandler.setExecutor(command -> requestThreadFactory.newThread(command).start());
+    }
+
+    @Bean
+    public TaskSchedulerCustomizer virtualThreadTaskSchedulerCustomizer(){
+        return taskScheduler -> taskScheduler.setThreadFactory(ThreadFactories.virtual("scheduling-vt-"));
+    }
+
+    private String formatStackTrace(RecordedEvent event){
+        if (event.getStackTrace() == null){
+            return "unknown location";
+        }
+        return event.getStackTrace().getFrames().stream()
+                .limit(PINNED_STACK_DEPTH)
+                .map(this::formatFrame)
+                .collect(Collectors.joining(" <- "));
+    }
+
+    private String formatFrame(RecordedFrame frame){
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
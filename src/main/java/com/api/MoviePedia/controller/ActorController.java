@@ -1,13 +1,16 @@
 package com.api.MoviePedia.controller;
 
+import com.api.MoviePedia.enumeration.StreamFormat;
 import com.api.MoviePedia.exception.RequestBodyFieldValidationException;
 import com.api.MoviePedia.model.FieldValidationErrorModel;
 import com.api.MoviePedia.model.actor.ActorCreationDto;
 import com.api.MoviePedia.model.actor.ActorRetrievalDto;
 import com.api.MoviePedia.service.ActorService;
+import com.api.MoviePedia.service.AsyncIoService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
@@ -18,17 +21,30 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.context.request.WebRequest;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RequestMapping("/api/v1")
 @RequiredArgsConstructor
 @RestController
 public class ActorController {
     private final ActorService actorService;
+    private final AsyncIoService asyncIoService;
+
+    @GetMapping(value = "/actors", params = "stream")
+    public ResponseEntity<StreamingResponseBody> streamAllActors(@RequestParam("stream") StreamFormat streamFormat){
+        return ResponseEntity.ok()
+                .contentType(streamFormat.getMediaType())
+                .body(outputStream -> actorService.streamAllActors(streamFormat, outputStream));
+    }
 
     @GetMapping("/actors")
     public ResponseEntity<List<ActorRetrievalDto>> getAllActors(){
@@ -36,21 +52,38 @@ public class ActorController {
     }
 
     @GetMapping("/actors/{id}")
-    public ResponseEntity<ActorRetrievalDto> getActorById(@PathVariable("id") Long actorId){
+    public ResponseEntity<ActorRetrievalDto> getActorById(@PathVariable("id") Long actorId, WebRequest webRequest){
+        if (webRequest.checkNotModified(actorService.getActorETagById(actorId))){
+            return null;
+        }
         return ResponseEntity.ok(actorService.getActorById(actorId));
     }
 
     @PostMapping("/actors")
-    public ResponseEntity<ActorRetrievalDto> createActor(@RequestBody @Valid ActorCreationDto actorCreationDto, BindingResult bindingResult) throws IOException {
+    public CompletableFuture<ResponseEntity<ActorRetrievalDto>> createActor(@RequestBody @Valid ActorCreationDto actorCreationDto, BindingResult bindingResult) {
         validateRequestBodyFields(bindingResult);
-        return new ResponseEntity<>(actorService.createActor(actorCreationDto), HttpStatus.CREATED);
+        return asyncIoService.submit(() -> new ResponseEntity<>(actorService.createActor(actorCreationDto), HttpStatus.CREATED));
+    }
+
+    @PostMapping(value = "/actors", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public CompletableFuture<ResponseEntity<ActorRetrievalDto>> createActorMultipart(@RequestPart("actor") @Valid ActorCreationDto actorCreationDto, BindingResult bindingResult,
+                                                                                     @RequestPart(value = "picture", required = false) MultipartFile picture) {
+        validateRequestBodyFields(bindingResult);
+        return asyncIoService.submit(() -> new ResponseEntity<>(actorService.createActor(actorCreationDto, picture == null || picture.isEmpty() ? null : picture), HttpStatus.CREATED));
     }
 
     @PutMapping("/actors/{id}")
-    public ResponseEntity<ActorRetrievalDto> editActorById(@PathVariable("id") Long actorId, @RequestBody @Valid ActorCreationDto actorCreationDto,
-                                                           BindingResult bindingResult) throws IOException {
+    public CompletableFuture<ResponseEntity<ActorRetrievalDto>> editActorById(@PathVariable("id") Long actorId, @RequestBody @Valid ActorCreationDto actorCreationDto,
+                                                                              BindingResult bindingResult) {
+        validateRequestBodyFields(bindingResult);
+        return asyncIoService.submit(() -> ResponseEntity.ok(actorService.editActorById(actorId, actorCreationDto)));
+    }
+
+    @PutMapping(value = "/actors/{id}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public CompletableFuture<ResponseEntity<ActorRetrievalDto>> editActorByIdMultipart(@PathVariable("id") Long actorId, @RequestPart("actor") @Valid ActorCreationDto actorCreationDto,
+                                                                                       BindingResult bindingResult, @RequestPart(value = "picture", required = false) MultipartFile picture) {
         validateRequestBodyFields(bindingResult);
-        return ResponseEntity.ok(actorService.editActorById(actorId, actorCreationDto));
+        return asyncIoService.submit(() -> ResponseEntity.ok(actorService.editActorById(actorId, actorCreationDto, picture == null || picture.isEmpty() ? null : picture)));
     }
 
     @DeleteMapping("/actors/{id}")
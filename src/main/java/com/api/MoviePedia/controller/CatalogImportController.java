@@ -0,0 +1,25 @@
+package com.api.MoviePedia.controller;
+
+import com.api.MoviePedia.model.catalog.CatalogImportReportDto;
+import com.api.MoviePedia.service.CatalogImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RequestMapping("/api/v1")
+@RequiredArgsConstructor
+@RestController
+public class CatalogImportController {
+    private final CatalogImportService catalogImportService;
+
+    @PostMapping(value = "/catalog/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<CatalogImportReportDto> importCatalog(InputStream inputStream) throws IOException {
+        return ResponseEntity.ok(catalogImportService.importCatalog(inputStream));
+    }
+}
@@ -1,16 +1,22 @@
 package com.api.MoviePedia.controller;
 
+import com.api.MoviePedia.enumeration.StreamFormat;
 import com.api.MoviePedia.exception.RequestBodyFieldValidationException;
 import com.api.MoviePedia.model.FieldValidationErrorModel;
 import com.api.MoviePedia.model.director.DirectorCreationDto;
 import com.api.MoviePedia.model.director.DirectorRetrievalDto;
+import com.api.MoviePedia.model.validation.EmbeddedPicture;
+import com.api.MoviePedia.service.AsyncIoService;
 import com.api.MoviePedia.service.DirectorService;
 import jakarta.validation.Valid;
+import jakarta.validation.groups.Default;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -18,17 +24,30 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.context.request.WebRequest;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RequestMapping("/api/v1")
 @RequiredArgsConstructor
 @RestController
 public class DirectorController {
     private final DirectorService directorService;
+    private final AsyncIoService asyncIoService;
+
+    @GetMapping(value = "/directors", params = "stream")
+    public ResponseEntity<StreamingResponseBody> streamAllDirectors(@RequestParam("stream") StreamFormat streamFormat){
+        return ResponseEntity.ok()
+                .contentType(streamFormat.getMediaType())
+                .body(outputStream -> directorService.streamAllDirectors(streamFormat, outputStream));
+    }
 
     @GetMapping("/directors")
     public ResponseEntity<List<DirectorRetrievalDto>> getAllDirectors(){
@@ -36,21 +55,42 @@ public class DirectorController {
     }
 
     @GetMapping("/directors/{id}")
-    public ResponseEntity<DirectorRetrievalDto> getDirectorById(@PathVariable("id") Long directorId){
+    public ResponseEntity<DirectorRetrievalDto> getDirectorById(@PathVariable("id") Long directorId, WebRequest webRequest){
+        if (webRequest.checkNotModified(directorService.getDirectorETagById(directorId))){
+            return null;
+        }
         return ResponseEntity.ok(directorService.getDirectorById(directorId));
     }
 
     @PostMapping("/directors")
-    public ResponseEntity<DirectorRetrievalDto> createDirector(@RequestBody @Valid DirectorCreationDto directorCreationDto, BindingResult bindingResult) throws IOException {
+    public CompletableFuture<ResponseEntity<DirectorRetrievalDto>> createDirector(@RequestBody @Validated({Default.class, EmbeddedPicture.class}) DirectorCreationDto directorCreationDto,
+                                                                                  BindingResult bindingResult) {
+        validateRequestBodyFields(bindingResult);
+        return asyncIoService.submit(() -> new ResponseEntity<>(directorService.createDirector(directorCreationDto), HttpStatus.CREATED));
+    }
+
+    @PostMapping(value = "/directors", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public CompletableFuture<ResponseEntity<DirectorRetrievalDto>> createDirectorMultipart(@RequestPart("director") @Valid DirectorCreationDto directorCreationDto, BindingResult bindingResult,
+                                                                                           @RequestPart("picture") MultipartFile picture) {
         validateRequestBodyFields(bindingResult);
-        return new ResponseEntity<>(directorService.createDirector(directorCreationDto), HttpStatus.CREATED);
+        validatePicturePart(picture);
+        return asyncIoService.submit(() -> new ResponseEntity<>(directorService.createDirector(directorCreationDto, picture), HttpStatus.CREATED));
     }
 
     @PutMapping("/directors/{id}")
-    public ResponseEntity<DirectorRetrievalDto> editDirectorById(@PathVariable("id") Long directorId, @RequestBody @Valid DirectorCreationDto directorCreationDto,
-                                                                 BindingResult bindingResult) throws IOException {
+    public CompletableFuture<ResponseEntity<DirectorRetrievalDto>> editDirectorById(@PathVariable("id") Long directorId,
+                                                                                    @RequestBody @Validated({Default.class, EmbeddedPicture.class}) DirectorCreationDto directorCreationDto,
+                                                                                    BindingResult bindingResult) {
         validateRequestBodyFields(bindingResult);
-        return ResponseEntity.ok(directorService.editDirectorById(directorId, directorCreationDto));
+        return asyncIoService.submit(() -> ResponseEntity.ok(directorService.editDirectorById(directorId, directorCreationDto)));
+    }
+
+    @PutMapping(value = "/directors/{id}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public CompletableFuture<ResponseEntity<DirectorRetrievalDto>> editDirectorByIdMultipart(@PathVariable("id") Long directorId, @RequestPart("director") @Valid DirectorCreationDto directorCreationDto,
+                                                                                             BindingResult bindingResult, @RequestPart("picture") MultipartFile picture) {
+        validateRequestBodyFields(bindingResult);
+        validatePicturePart(picture);
+        return asyncIoService.submit(() -> ResponseEntity.ok(directorService.editDirectorById(directorId, directorCreationDto, picture)));
     }
 
     @DeleteMapping("/directors/{id}")
@@ -59,6 +99,12 @@ public class DirectorController {
         return ResponseEntity.ok().build();
     }
 
+    private void validatePicturePart(MultipartFile picture) {
+        if (picture.isEmpty()){
+            throw new RequestBodyFieldValidationException(List.of(new FieldValidationErrorModel("picture", "Picture is required")));
+        }
+    }
+
     private void validateRequestBodyFields(BindingResult bindingResult) {
         List<FieldValidationErrorModel> fieldValidationErrors = new ArrayList<>();
         for (FieldError fieldError : bindingResult.getFieldErrors()) {
@@ -0,0 +1,67 @@
+package com.api.MoviePedia.controller;
+
+import com.api.MoviePedia.enumeration.ExportFormat;
+import com.api.MoviePedia.service.ExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+@RequestMapping("/api/v1")
+@RequiredArgsConstructor
+@RestController
+public class ExportController {
+    private final ExportService exportService;
+
+    @GetMapping("/export/movies")
+    public ResponseEntity<StreamingResponseBody> exportMovies(@RequestParam(name = "format", defaultValue = "NDJSON") ExportFormat exportFormat,
+                                                              @RequestParam(name = "gzip", defaultValue = "false") Boolean gzip,
+                                                              @RequestParam(name = "updatedSince", required = false)
+                                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince){
+        return buildExportResponse("movies", exportFormat, gzip, outputStream -> exportService.exportMovies(updatedSince, exportFormat, outputStream));
+    }
+
+    @GetMapping("/export/ratings")
+    public ResponseEntity<StreamingResponseBody> exportRatings(@RequestParam(name = "format", defaultValue = "NDJSON") ExportFormat exportFormat,
+                                                               @RequestParam(name = "gzip", defaultValue = "false") Boolean gzip,
+                                                               @RequestParam(name = "updatedSince", required = false)
+                                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince){
+        return buildExportResponse("ratings", exportFormat, gzip, outputStream -> exportService.exportRatings(updatedSince, exportFormat, outputStream));
+    }
+
+    @GetMapping("/export/reviews")
+    public ResponseEntity<StreamingResponseBody> exportReviews(@RequestParam(name = "format", defaultValue = "NDJSON") ExportFormat exportFormat,
+                                                               @RequestParam(name = "gzip", defaultValue = "false") Boolean gzip,
+                                                               @RequestParam(name = "updatedSince", required = false)
+                                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince){
+        return buildExportResponse("reviews", exportFormat, gzip, outputStream -> exportService.exportReviews(updatedSince, exportFormat, outputStream));
+    }
+
+    private ResponseEntity<StreamingResponseBody> buildExportResponse(String datasetName, ExportFormat exportFormat, Boolean gzip, StreamingResponseBody exportBody){
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(datasetName + "." + exportFormat.getFileExtension())
+                        .build()
+                        .toString());
+        if (!gzip){
+            return responseBuilder.body(exportBody);
+        }
+        return responseBuilder
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(outputStream -> {
+                    GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, 8192);
+                    exportBody.writeTo(gzipOutputStream);
+                    gzipOutputStream.finish();
+                });
+    }
+}
@@ -0,0 +1,108 @@
+package com.api.MoviePedia.controller;
+
+import com.api.MoviePedia.service.LocalImageStorageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+@RequestMapping("/api/v1")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "image.storage.backend", havingValue = "local")
+@RestController
+public class ImageController {
+    private static final String TOMCAT_SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String TOMCAT_SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String TOMCAT_SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String TOMCAT_SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final LocalImageStorageService localImageStorageService;
+
+    @GetMapping("/images/{firstShard}/{secondShard}/{fileName}")
+    public void getImage(@PathVariable("firstShard") String firstShard, @PathVariable("secondShard") String secondShard,
+                         @PathVariable("fileName") String fileName, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path imagePath = localImageStorageService.getImagePath(firstShard + "/" + secondShard + "/" + fileName);
+        long imageLength;
+        long lastModified;
+        try {
+            imageLength = Files.size(imagePath);
+            lastModified = Files.getLastModifiedTime(imagePath).toMillis();
+        } catch (NoSuchFileException exception){
+            throw new NoSuchElementException("Image: " + fileName + " does not exist");
+        }
+        if (new ServletWebRequest(request, response).checkNotModified(lastModified)){
+            return;
+        }
+
+        long rangeStart = 0;
+        long rangeEnd = imageLength - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null){
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                if (ranges.size() == 1){
+                    rangeStart = ranges.get(0).getRangeStart(imageLength);
+                    rangeEnd = ranges.get(0).getRangeEnd(imageLength);
+                    if (rangeStart > rangeEnd){
+                        throw new IllegalArgumentException("Range " + rangeHeader + " is not satisfiable for " + imageLength + " bytes");
+                    }
+                    response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + rangeStart + "-" + rangeEnd + "/" + imageLength);
+                }
+            } catch (IllegalArgumentException exception){
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + imageLength);
+                return;
+            }
+        }
+
+        long contentLength = rangeEnd - rangeStart + 1;
+        response.setContentType(MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setContentLengthLong(contentLength);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable");
+        if (HttpMethod.HEAD.matches(request.getMethod())){
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(TOMCAT_SENDFILE_SUPPORT))){
+            request.setAttribute(TOMCAT_SENDFILE_FILENAME, imagePath.toAbsolutePath().toString());
+            request.setAttribute(TOMCAT_SENDFILE_START, rangeStart);
+            request.setAttribute(TOMCAT_SENDFILE_END, rangeEnd + 1);
+            return;
+        }
+        try (FileChannel fileChannel = FileChannel.open(imagePath, StandardOpenOption.READ)){
+            WritableByteChannel responseChannel = Channels.newChannel(response.getOutputStream());
+            long position = rangeStart;
+            while (position <= rangeEnd){
+                long transferredBytes = fileChannel.transferTo(position, rangeEnd + 1 - position, responseChannel);
+                if (transferredBytes <= 0){
+                    break;
+                }
+                position += transferredBytes;
+            }
+        }
+    }
+}
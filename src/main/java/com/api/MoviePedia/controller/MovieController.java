@@ -1,17 +1,26 @@
 package com.api.MoviePedia.controller;
 
+import com.api.MoviePedia.enumeration.Genre;
+import com.api.MoviePedia.enumeration.StreamFormat;
 import com.api.MoviePedia.exception.RequestBodyFieldValidationException;
 import com.api.MoviePedia.model.FieldValidationErrorModel;
 import com.api.MoviePedia.model.movie.MovieCreationDto;
 import com.api.MoviePedia.model.movie.MovieRetrievalDto;
 import com.api.MoviePedia.model.movie.SearchDto;
+import com.api.MoviePedia.model.validation.EmbeddedPicture;
+import com.api.MoviePedia.service.AsyncIoService;
+import com.api.MoviePedia.service.LeaderboardService;
 import com.api.MoviePedia.service.MovieService;
+import com.api.MoviePedia.service.TrendingService;
 import jakarta.validation.Valid;
+import jakarta.validation.groups.Default;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -21,11 +30,15 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.context.request.WebRequest;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.Set;
 
 @RequestMapping("/api/v1")
@@ -33,19 +46,46 @@ import java.util.Set;
 @RestController
 public class MovieController {
     private final MovieService movieService;
+    private final TrendingService trendingService;
+    private final LeaderboardService leaderboardService;
+    private final AsyncIoService asyncIoService;
+
+    @GetMapping(value = "/movies", params = "stream")
+    public ResponseEntity<StreamingResponseBody> streamAllMovies(@RequestParam("stream") StreamFormat streamFormat){
+        return ResponseEntity.ok()
+                .contentType(streamFormat.getMediaType())
+                .body(outputStream -> movieService.streamAllMovies(streamFormat, outputStream));
+    }
 
     @GetMapping("/movies")
     public ResponseEntity<List<MovieRetrievalDto>> getAllMovies(){
         return ResponseEntity.ok(movieService.getAllMovies());
     }
 
+    @GetMapping("/movies/trending")
+    public ResponseEntity<List<MovieRetrievalDto>> getTrendingMovies(){
+        return ResponseEntity.ok(trendingService.getTrendingMovies());
+    }
+
+    @GetMapping("/movies/top-rated")
+    public ResponseEntity<List<MovieRetrievalDto>> getTopRatedMovies(@RequestParam(name = "genre", required = false) Genre genre,
+                                                                     @RequestParam(name = "pageNum", defaultValue = "0") Integer pageNum,
+                                                                     @RequestParam(name = "pageSize", defaultValue = "10") Integer pageSize){
+        return ResponseEntity.ok(leaderboardService.getTopRatedMovies(genre, pageNum, pageSize));
+    }
+
     @GetMapping("/directors/{directorId}/movies")
     public ResponseEntity<Set<MovieRetrievalDto>> getAllMoviesByDirectorId(@PathVariable("directorId") Long directorId){
         return ResponseEntity.ok(movieService.getAllMoviesByDirectorId(directorId));
     }
 
     @GetMapping("/directors/{directorId}/movies/{movieId}")
-    public ResponseEntity<MovieRetrievalDto> getDirectorMovieById(@PathVariable("directorId") Long directorId, @PathVariable("movieId") Long movieId){
+    public ResponseEntity<MovieRetrievalDto> getDirectorMovieById(@PathVariable("directorId") Long directorId, @PathVariable("movieId") Long movieId,
+                                                                  WebRequest webRequest){
+        String movieETag = movieService.getMovieETag(directorId, movieId);
+        if (movieETag != null && webRequest.checkNotModified(movieETag)){
+            return null;
+        }
         return ResponseEntity.ok(movieService.getMovieById(directorId, movieId));
     }
 
@@ -67,9 +107,18 @@ public class MovieController {
     }
 
     @PostMapping("/directors/{directorId}/movies")
-    public ResponseEntity<MovieRetrievalDto> createMovie(@PathVariable("directorId") Long directorId, @RequestBody @Valid MovieCreationDto movieCreationDto, BindingResult bindingResult) throws IOException {
+    public CompletableFuture<ResponseEntity<MovieRetrievalDto>> createMovie(@PathVariable("directorId") Long directorId, @RequestBody @Validated({Default.class, EmbeddedPicture.class}) MovieCreationDto movieCreationDto,
+                                                                            BindingResult bindingResult) {
+        validateRequestBodyFields(bindingResult);
+        return asyncIoService.submit(() -> new ResponseEntity<>(movieService.createMovie(directorId, movieCreationDto), HttpStatus.CREATED));
+    }
+
+    @PostMapping(value = "/directors/{directorId}/movies", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public CompletableFuture<ResponseEntity<MovieRetrievalDto>> createMovieMultipart(@PathVariable("directorId") Long directorId, @RequestPart("movie") @Valid MovieCreationDto movieCreationDto,
+                                                                                     BindingResult bindingResult, @RequestPart("picture") MultipartFile picture) {
         validateRequestBodyFields(bindingResult);
-        return new ResponseEntity<>(movieService.createMovie(directorId, movieCreationDto), HttpStatus.CREATED);
+        validatePicturePart(picture);
+        return asyncIoService.submit(() -> new ResponseEntity<>(movieService.createMovie(directorId, movieCreationDto, picture), HttpStatus.CREATED));
     }
 
     @PostMapping("/directors/{directorId}/movies/{movieId}/watched")
@@ -92,9 +141,20 @@ public class MovieController {
     }
 
     @PutMapping("/directors/{directorId}/movies/{movieId}")
-    public ResponseEntity<MovieRetrievalDto> editMovieById(@PathVariable("movieId") Long movieId, @PathVariable("directorId") Long directorId, @RequestBody @Valid MovieCreationDto movieCreationDto, BindingResult bindingResult) throws IOException {
+    public CompletableFuture<ResponseEntity<MovieRetrievalDto>> editMovieById(@PathVariable("movieId") Long movieId, @PathVariable("directorId") Long directorId,
+                                                                              @RequestBody @Validated({Default.class, EmbeddedPicture.class}) MovieCreationDto movieCreationDto,
+                                                                              BindingResult bindingResult) {
+        validateRequestBodyFields(bindingResult);
+        return asyncIoService.submit(() -> ResponseEntity.ok(movieService.editMovieById(movieId, directorId, movieCreationDto)));
+    }
+
+    @PutMapping(value = "/directors/{directorId}/movies/{movieId}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public CompletableFuture<ResponseEntity<MovieRetrievalDto>> editMovieByIdMultipart(@PathVariable("movieId") Long movieId, @PathVariable("directorId") Long directorId,
+                                                                                       @RequestPart("movie") @Valid MovieCreationDto movieCreationDto, BindingResult bindingResult,
+                                                                                       @RequestPart("picture") MultipartFile picture) {
         validateRequestBodyFields(bindingResult);
-        return ResponseEntity.ok(movieService.editMovieById(movieId, directorId, movieCreationDto));
+        validatePicturePart(picture);
+        return asyncIoService.submit(() -> ResponseEntity.ok(movieService.editMovieById(movieId, directorId, movieCreationDto, picture)));
     }
 
     @PatchMapping(value = {"/directors/{directorId}/movies/{movieId}/actors/{actorIds}", "/directors/{directorId}/movies/{movieId}/actors"})
@@ -120,6 +180,12 @@ public class MovieController {
         return ResponseEntity.ok().build();
     }
 
+    private void validatePicturePart(MultipartFile picture) {
+        if (picture.isEmpty()){
+            throw new RequestBodyFieldValidationException(List.of(new FieldValidationErrorModel("picture", "Picture is required")));
+        }
+    }
+
     private void validateRequestBodyFields(BindingResult bindingResult) {
         List<FieldValidationErrorModel> fieldValidationErrors = new ArrayList<>();
         for (FieldError fieldError : bindingResult.getFieldErrors()) {
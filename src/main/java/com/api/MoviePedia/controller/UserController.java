@@ -1,5 +1,6 @@
 package com.api.MoviePedia.controller;
 
+import com.api.MoviePedia.enumeration.StreamFormat;
 import com.api.MoviePedia.exception.RequestBodyFieldValidationException;
 import com.api.MoviePedia.model.FieldValidationErrorModel;
 import com.api.MoviePedia.model.UserCreationDto;
@@ -20,7 +21,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -32,6 +35,13 @@ public class UserController {
     private final UserService userService;
     private final AuthenticationService authenticationService;
 
+    @GetMapping(value = "/users", params = "stream")
+    public ResponseEntity<StreamingResponseBody> streamAllUsers(@RequestParam("stream") StreamFormat streamFormat){
+        return ResponseEntity.ok()
+                .contentType(streamFormat.getMediaType())
+                .body(outputStream -> userService.streamAllUsers(streamFormat, outputStream));
+    }
+
     @GetMapping("/users")
     public ResponseEntity<List<UserRetrievalDto>> getAllUsers(){
         return ResponseEntity.ok(userService.getAllUsers());
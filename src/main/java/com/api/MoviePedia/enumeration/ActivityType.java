@@ -0,0 +1,18 @@
+package com.api.MoviePedia.enumeration;
+
+public enum ActivityType {
+    RATING(1),
+    WATCHED(1),
+    WATCHLIST(2),
+    REVIEW(3);
+
+    private final int weight;
+
+    ActivityType(int weight){
+        this.weight = weight;
+    }
+
+    public int getWeight(){
+        return weight;
+    }
+}
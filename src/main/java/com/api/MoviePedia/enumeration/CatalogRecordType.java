@@ -0,0 +1,8 @@
+package com.api.MoviePedia.enumeration;
+
+public enum CatalogRecordType {
+    DIRECTOR,
+    ACTOR,
+    MOVIE,
+    CAST
+}
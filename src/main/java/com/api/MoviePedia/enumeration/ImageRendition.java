@@ -0,0 +1,23 @@
+package com.api.MoviePedia.enumeration;
+
+public enum ImageRendition {
+    THUMBNAIL(200, 300),
+    CARD(500, 750),
+    FULL(2000, 3000);
+
+    private final int maxWidth;
+    private final int maxHeight;
+
+    ImageRendition(int maxWidth, int maxHeight){
+        this.maxWidth = maxWidth;
+        this.maxHeight = maxHeight;
+    }
+
+    public int getMaxWidth(){
+        return maxWidth;
+    }
+
+    public int getMaxHeight(){
+        return maxHeight;
+    }
+}
@@ -0,0 +1,7 @@
+package com.api.MoviePedia.enumeration;
+
+public enum ImageStatus {
+    READY,
+    PENDING,
+    FAILED
+}
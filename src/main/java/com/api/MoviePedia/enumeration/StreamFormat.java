@@ -0,0 +1,18 @@
+package com.api.MoviePedia.enumeration;
+
+import org.springframework.http.MediaType;
+
+public enum StreamFormat {
+    JSON(MediaType.APPLICATION_JSON),
+    NDJSON(MediaType.APPLICATION_NDJSON);
+
+    private final MediaType mediaType;
+
+    StreamFormat(MediaType mediaType){
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType(){
+        return mediaType;
+    }
+}
@@ -0,0 +1,7 @@
+package com.api.MoviePedia.exception;
+
+public class AsyncIoUnavailableException extends RuntimeException{
+    public AsyncIoUnavailableException(String message){
+        super(message);
+    }
+}
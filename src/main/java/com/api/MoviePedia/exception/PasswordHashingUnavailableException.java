@@ -0,0 +1,7 @@
+package com.api.MoviePedia.exception;
+
+public class PasswordHashingUnavailableException extends RuntimeException{
+    public PasswordHashingUnavailableException(String message){
+        super(message);
+    }
+}
@@ -1,8 +1,15 @@
 package com.api.MoviePedia.external;
 
+import com.api.MoviePedia.enumeration.ImageStatus;
 import com.api.MoviePedia.model.ImgurUploadResponse;
 import com.api.MoviePedia.repository.model.ImgurImageEntity;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -10,8 +17,13 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.function.Supplier;
+
+@RequiredArgsConstructor
 @Component
 public class ImgurApiConnection {
+    private static final String IMGUR_REQUESTS_METRIC = "imgur.requests";
+
     @Value("${imgur.client.id}")
     private String imgurClientId;
 
@@ -21,24 +33,52 @@ public class ImgurApiConnection {
     @Value("${imgur.access.token}")
     private String imgurAccessToken;
 
-    private final RestTemplate restTemplate = new RestTemplate();
-    private static final String IMGUR_UPLOAD_URL = "https://api.imgur.com/3/image";
+    @Value("${imgur.api.url}")
+    private String imgurUploadUrl;
+
+    private final RestTemplate imgurRestTemplate;
+    private final CircuitBreaker imgurCircuitBreaker;
+    private final Bulkhead imgurBulkhead;
+    private final MeterRegistry meterRegistry;
 
-    public ImgurImageEntity saveImageToImgur(byte[] imageContents){
+    public ImgurImageEntity saveImageToImgur(Resource image){
         HttpHeaders headers = new HttpHeaders();
         headers.set("Authorization", imgurClientId);
         headers.setBearerAuth(imgurAccessToken);
-        HttpEntity<byte[]> requestEntity = new HttpEntity<>(imageContents, headers);
-        ResponseEntity<ImgurUploadResponse> responseEntity = restTemplate.exchange(IMGUR_UPLOAD_URL, HttpMethod.POST, requestEntity, ImgurUploadResponse.class);
+        HttpEntity<Resource> requestEntity = new HttpEntity<>(image, headers);
+        ResponseEntity<ImgurUploadResponse> responseEntity = execute("upload",
+                () -> imgurRestTemplate.exchange(imgurUploadUrl, HttpMethod.POST, requestEntity, ImgurUploadResponse.class));
         return new ImgurImageEntity(responseEntity.getBody().getData().getId(),
                 responseEntity.getBody().getData().getLink(),
-                responseEntity.getBody().getData().getDeleteHash());
+                responseEntity.getBody().getData().getDeleteHash(),
+                ImageStatus.READY,
+                null,
+                1,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null);
     }
 
     public void deleteImageByHash(String imageHash) {
         HttpHeaders headers = new HttpHeaders();
         headers.setBearerAuth(imgurAccessToken);
         HttpEntity<?> request = new HttpEntity<Object>(headers);
-        restTemplate.exchange(IMGUR_UPLOAD_URL + "/" + imageHash, HttpMethod.DELETE, request, String.class);
+        execute("delete", () -> imgurRestTemplate.exchange(imgurUploadUrl + "/" + imageHash, HttpMethod.DELETE, request, String.class));
+    }
+
+    private <T> T execute(String operation, Supplier<T> imgurRequest){
+        Timer.Sample requestSample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return Bulkhead.decorateSupplier(imgurBulkhead, CircuitBreaker.decorateSupplier(imgurCircuitBreaker, imgurRequest)).get();
+        } catch (RuntimeException exception){
+            outcome = exception.getClass().getSimpleName();
+            throw exception;
+        } finally {
+            requestSample.stop(meterRegistry.timer(IMGUR_REQUESTS_METRIC, "operation", operation, "outcome", outcome));
+        }
     }
 }
@@ -1,5 +1,6 @@
 package com.api.MoviePedia.model.actor;
 
+import com.api.MoviePedia.enumeration.ImageStatus;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -16,4 +17,7 @@ public class ActorRetrievalDto {
     private LocalDate dateOfBirth;
     private String biography;
     private String pictureFilePath;
+    private String thumbnailFilePath;
+    private String cardFilePath;
+    private ImageStatus pictureStatus;
 }
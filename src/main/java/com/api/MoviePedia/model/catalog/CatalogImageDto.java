@@ -0,0 +1,14 @@
+package com.api.MoviePedia.model.catalog;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CatalogImageDto {
+    private String id;
+    private String link;
+    private String deleteHash;
+}
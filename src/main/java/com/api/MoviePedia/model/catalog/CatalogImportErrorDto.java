@@ -0,0 +1,13 @@
+package com.api.MoviePedia.model.catalog;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CatalogImportErrorDto {
+    private Long lineNumber;
+    private String message;
+}
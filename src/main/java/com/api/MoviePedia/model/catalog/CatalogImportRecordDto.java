@@ -0,0 +1,35 @@
+package com.api.MoviePedia.model.catalog;
+
+import com.api.MoviePedia.enumeration.CatalogRecordType;
+import com.api.MoviePedia.enumeration.Genre;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CatalogImportRecordDto {
+    private CatalogRecordType type;
+    private String name;
+    private String surname;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate dateOfBirth;
+
+    private String biography;
+    private String title;
+    private String description;
+    private Integer year;
+    private Genre genre;
+    private String trailerYoutubeUrl;
+    private String directorName;
+    private String directorSurname;
+    private String movieTitle;
+    private String actorName;
+    private String actorSurname;
+    private CatalogImageDto picture;
+}
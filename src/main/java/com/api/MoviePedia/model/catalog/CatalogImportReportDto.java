@@ -0,0 +1,17 @@
+package com.api.MoviePedia.model.catalog;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CatalogImportReportDto {
+    private Long totalRecords;
+    private Long importedRecords;
+    private Long failedRecords;
+    private List<CatalogImportErrorDto> errors;
+}
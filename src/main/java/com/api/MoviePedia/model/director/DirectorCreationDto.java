@@ -1,5 +1,6 @@
 package com.api.MoviePedia.model.director;
 
+import com.api.MoviePedia.model.validation.EmbeddedPicture;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
@@ -28,7 +29,7 @@ public class DirectorCreationDto {
 
     private String biography;
 
-    @NotEmpty(message = "Picture is required")
-    @NotNull(message = "Picture is required")
+    @NotEmpty(message = "Picture is required", groups = EmbeddedPicture.class)
+    @NotNull(message = "Picture is required", groups = EmbeddedPicture.class)
     private byte[] picture;
 }
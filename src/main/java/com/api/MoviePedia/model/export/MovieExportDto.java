@@ -0,0 +1,28 @@
+package com.api.MoviePedia.model.export;
+
+import com.api.MoviePedia.enumeration.Genre;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class MovieExportDto {
+    private Long id;
+    private String title;
+    private Integer year;
+    private Genre genre;
+    private Double rating;
+    private Integer totalRating;
+    private Integer totalVotes;
+    private Long directorId;
+    private String directorName;
+    private String directorSurname;
+    private List<Long> actorIds;
+    private List<String> actorNames;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,18 @@
+package com.api.MoviePedia.model.export;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class RatingExportDto {
+    private Long id;
+    private Long movieId;
+    private Long userId;
+    private Integer rating;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,21 @@
+package com.api.MoviePedia.model.export;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class ReviewExportDto {
+    private Long id;
+    private Long movieId;
+    private Long reviewerId;
+    private String reviewerUsername;
+    private String text;
+    private Long likes;
+    private Long dislikes;
+    private LocalDateTime updatedAt;
+}
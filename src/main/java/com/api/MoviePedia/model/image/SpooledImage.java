@@ -0,0 +1,6 @@
+package com.api.MoviePedia.model.image;
+
+import java.nio.file.Path;
+
+public record SpooledImage(Path imageFile, String contentHash) {
+}
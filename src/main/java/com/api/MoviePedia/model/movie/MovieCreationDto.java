@@ -1,6 +1,7 @@
 package com.api.MoviePedia.model.movie;
 
 import com.api.MoviePedia.enumeration.Genre;
+import com.api.MoviePedia.model.validation.EmbeddedPicture;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
@@ -26,8 +27,8 @@ public class MovieCreationDto {
     @NotNull(message = "Genre is required")
     private Genre genre;
 
-    @NotEmpty(message = "Picture is required")
-    @NotNull(message = "Picture is required")
+    @NotEmpty(message = "Picture is required", groups = EmbeddedPicture.class)
+    @NotNull(message = "Picture is required", groups = EmbeddedPicture.class)
     private byte[] picture;
 
     private String trailerYoutubeUrl;
@@ -1,6 +1,7 @@
 package com.api.MoviePedia.model.movie;
 
 import com.api.MoviePedia.enumeration.Genre;
+import com.api.MoviePedia.enumeration.ImageStatus;
 import com.api.MoviePedia.model.actor.ActorRetrievalDto;
 import com.api.MoviePedia.model.director.DirectorRetrievalDto;
 import lombok.AllArgsConstructor;
@@ -21,6 +22,9 @@ public class MovieRetrievalDto {
     private Double rating;
     private Integer totalVotes;
     private String pictureFilePath;
+    private String thumbnailFilePath;
+    private String cardFilePath;
+    private ImageStatus pictureStatus;
     private String trailerYoutubeUrl;
     private DirectorRetrievalDto director;
     private Set<ActorRetrievalDto> actors;
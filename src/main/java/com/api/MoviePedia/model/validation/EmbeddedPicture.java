@@ -0,0 +1,4 @@
+package com.api.MoviePedia.model.validation;
+
+public interface EmbeddedPicture {
+}
@@ -1,12 +1,32 @@
 package com.api.MoviePedia.repository;
 
+import com.api.MoviePedia.model.actor.ActorRetrievalDto;
 import com.api.MoviePedia.repository.model.ActorEntity;
+import com.api.MoviePedia.repository.projection.VersionProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ActorRepository extends JpaRepository<ActorEntity, Long> {
     Optional<ActorEntity> findByNameAndSurname(String name, String surname);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    List<ActorEntity> findAllByNameInAndSurnameIn(Collection<String> names, Collection<String> surnames);
+
+    @Query("select a.version as version, i.status as imageStatus from ActorEntity a left join a.imgurImageEntity i where a.id = :actorId")
+    Optional<VersionProjection> findVersionById(Long actorId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.api.MoviePedia.model.actor.ActorRetrievalDto(a.id, a.name, a.surname, a.dateOfBirth, a.biography, i.link, coalesce(i.thumbnailLink, i.link), coalesce(i.cardLink, i.link), coalesce(i.status, com.api.MoviePedia.enumeration.ImageStatus.READY)) " +
+            "from ActorEntity a left join a.imgurImageEntity i order by a.id")
+    Stream<ActorRetrievalDto> streamAllRetrievalDtos();
 }
@@ -1,12 +1,32 @@
 package com.api.MoviePedia.repository;
 
+import com.api.MoviePedia.model.director.DirectorRetrievalDto;
 import com.api.MoviePedia.repository.model.DirectorEntity;
+import com.api.MoviePedia.repository.projection.VersionProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface DirectorRepository extends JpaRepository<DirectorEntity, Long> {
     Optional<DirectorEntity> findByNameAndSurname(String name, String surname);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    List<DirectorEntity> findAllByNameInAndSurnameIn(Collection<String> names, Collection<String> surnames);
+
+    @Query("select d.version as version, i.status as imageStatus from DirectorEntity d left join d.imgurImageEntity i where d.id = :directorId")
+    Optional<VersionProjection> findVersionById(Long directorId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.api.MoviePedia.model.director.DirectorRetrievalDto(d.id, d.name, d.surname, d.dateOfBirth, d.biography, i.link, coalesce(i.thumbnailLink, i.link), coalesce(i.cardLink, i.link), coalesce(i.status, com.api.MoviePedia.enumeration.ImageStatus.READY)) " +
+            "from DirectorEntity d left join d.imgurImageEntity i order by d.id")
+    Stream<DirectorRetrievalDto> streamAllRetrievalDtos();
 }
@@ -0,0 +1,21 @@
+package com.api.MoviePedia.repository;
+
+import com.api.MoviePedia.repository.model.ImageDeletionEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ImageDeletionRepository extends JpaRepository<ImageDeletionEntity, Long> {
+    // no @Lock here: Spring Data applies it after the hints and it would replace the skip-locked mode
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_LOCK_MODE, value = "upgrade-skiplocked"))
+    @Query("select d from ImageDeletionEntity d where d.nextAttemptAt <= :now order by d.nextAttemptAt")
+    List<ImageDeletionEntity> findDueForUpdate(LocalDateTime now, Pageable pageable);
+}
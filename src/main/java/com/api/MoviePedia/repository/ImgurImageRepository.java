@@ -1,7 +1,29 @@
 package com.api.MoviePedia.repository;
 
+import com.api.MoviePedia.enumeration.ImageStatus;
 import com.api.MoviePedia.repository.model.ImgurImageEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface ImgurImageRepository extends JpaRepository<ImgurImageEntity, String> {
+    Optional<ImgurImageEntity> findByContentHash(String contentHash);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from ImgurImageEntity i where i.id = :imageId")
+    Optional<ImgurImageEntity> findByIdForUpdate(String imageId);
+
+    List<ImgurImageEntity> findAllByStatus(ImageStatus status);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("select i.id from ImgurImageEntity i where i.id in :imageIds")
+    List<String> findExistingIds(Collection<String> imageIds);
 }
@@ -1,13 +1,59 @@
 package com.api.MoviePedia.repository;
 
 import com.api.MoviePedia.repository.model.MovieEntity;
+import com.api.MoviePedia.repository.projection.MovieExportRowProjection;
+import com.api.MoviePedia.repository.projection.MovieRatingProjection;
+import com.api.MoviePedia.repository.projection.MovieVersionProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface MovieRepository extends JpaRepository<MovieEntity, Long>, JpaSpecificationExecutor<MovieEntity> {
     Optional<MovieEntity> findByTitle(String title);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    List<MovieEntity> findAllByTitleIn(Collection<String> titles);
+
+    @Query("select m.id as id, m.genre as genre, m.totalRating as totalRating, m.totalVotes as totalVotes from MovieEntity m")
+    List<MovieRatingProjection> findAllRatingSummaries();
+
+    @Query("select m.version as movieVersion, d.version as directorVersion, count(a) as actorCount, coalesce(sum(a.version), 0) as actorVersionSum, " +
+            "mi.status as movieImageStatus, di.status as directorImageStatus, " +
+            "sum(case when ai.status = com.api.MoviePedia.enumeration.ImageStatus.PENDING then 1 else 0 end) as actorPendingImageCount, " +
+            "sum(case when ai.status = com.api.MoviePedia.enumeration.ImageStatus.FAILED then 1 else 0 end) as actorFailedImageCount " +
+            "from MovieEntity m join m.director d left join m.imgurImageEntity mi left join d.imgurImageEntity di " +
+            "left join m.actors a left join a.imgurImageEntity ai " +
+            "where m.id = :movieId and d.id = :directorId group by m.version, d.version, mi.status, di.status")
+    Optional<MovieVersionProjection> findVersionsByIdAndDirectorId(Long movieId, Long directorId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "GET")
+    })
+    @Query("select m from MovieEntity m join fetch m.imgurImageEntity join fetch m.director d join fetch d.imgurImageEntity order by m.id")
+    Stream<MovieEntity> streamAll();
+
+    // initializes the actors of movies already in the persistence context, one query per streamed chunk
+    @Query("select distinct m from MovieEntity m left join fetch m.actors a left join fetch a.imgurImageEntity where m.id in :ids")
+    List<MovieEntity> fetchActorsByIdIn(Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select m.id as id, m.title as title, m.year as year, m.genre as genre, m.rating as rating, m.totalRating as totalRating, " +
+            "m.totalVotes as totalVotes, m.updatedAt as updatedAt, d.id as directorId, d.name as directorName, d.surname as directorSurname, " +
+            "a.id as actorId, a.name as actorName, a.surname as actorSurname " +
+            "from MovieEntity m join m.director d left join m.actors a " +
+            "where (:updatedSince is null or m.updatedAt >= :updatedSince) order by m.id, a.id")
+    Stream<MovieExportRowProjection> streamExportRows(LocalDateTime updatedSince);
 }
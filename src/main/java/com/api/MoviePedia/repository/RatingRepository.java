@@ -1,9 +1,23 @@
 package com.api.MoviePedia.repository;
 
+import com.api.MoviePedia.model.export.RatingExportDto;
 import com.api.MoviePedia.repository.model.RatingEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
 @Repository
 public interface RatingRepository extends JpaRepository<RatingEntity, Long> {
+    // ratings are never deleted on their own and a re-rating updates the row in place, so an incremental export is a
+    // stream of upserts keyed by (userId, movieId); rows only disappear when their movie is deleted
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.api.MoviePedia.model.export.RatingExportDto(r.id, r.movie.id, r.user.id, r.rating, r.updatedAt) " +
+            "from RatingEntity r where (:updatedSince is null or r.updatedAt >= :updatedSince) order by r.id")
+    Stream<RatingExportDto> streamExportDtos(LocalDateTime updatedSince);
 }
@@ -1,12 +1,20 @@
 package com.api.MoviePedia.repository;
 
 import com.api.MoviePedia.repository.model.RefreshTokenEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshTokenEntity, Long> {
     Optional<RefreshTokenEntity> findByUserId(Long userId);
 
+    @Query("select t from RefreshTokenEntity t join fetch t.user where t.token = :refreshToken")
     Optional<RefreshTokenEntity> findByToken(String refreshToken);
+
+    @Query("select t.id from RefreshTokenEntity t where t.expirationDate < :now")
+    List<Long> findExpiredIds(Instant now, Pageable pageable);
 }
@@ -1,14 +1,27 @@
 package com.api.MoviePedia.repository;
 
+import com.api.MoviePedia.model.export.ReviewExportDto;
 import com.api.MoviePedia.repository.model.ReviewEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<ReviewEntity, Long> {
     Optional<ReviewEntity> findByReviewerId(Long reviewerId);
 
     Optional<ReviewEntity> findByReviewerIdAndMovieId(Long userId, Long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.api.MoviePedia.model.export.ReviewExportDto(r.id, r.movie.id, u.id, u.username, r.text, " +
+            "(select count(l) from LikeEntity l where l.review = r), (select count(dl) from DislikeEntity dl where dl.review = r), r.updatedAt) " +
+            "from ReviewEntity r join r.reviewer u where (:updatedSince is null or r.updatedAt >= :updatedSince) order by r.id")
+    Stream<ReviewExportDto> streamExportDtos(LocalDateTime updatedSince);
 }
@@ -3,17 +3,31 @@ package com.api.MoviePedia.repository;
 import com.api.MoviePedia.enumeration.Role;
 import com.api.MoviePedia.model.UserRetrievalDto;
 import com.api.MoviePedia.repository.model.UserEntity;
+import com.api.MoviePedia.repository.projection.UserLoginProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<UserEntity, Long> {
     Optional<UserEntity> findByUsername(String username);
 
+    @Query("select u as user, t as refreshToken from UserEntity u left join RefreshTokenEntity t on t.user = u where u.username = :username")
+    Optional<UserLoginProjection> findLoginByUsername(String username);
+
     Optional<UserEntity> findByEmail(String email);
 
     List<UserEntity> findAllByRole(Role roleContentCurator);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.api.MoviePedia.model.UserRetrievalDto(u.id, u.name, u.surname, u.dateOfBirth, u.email, u.username, u.role) " +
+            "from UserEntity u order by u.id")
+    Stream<UserRetrievalDto> streamAllRetrievalDtos();
 }
@@ -0,0 +1,11 @@
+package com.api.MoviePedia.repository.model;
+
+public final class IdGenerators {
+    public static final String TABLE = "id_generators";
+    public static final String NAME_COLUMN = "generator_name";
+    public static final String VALUE_COLUMN = "next_value";
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGenerators(){
+    }
+}
@@ -1,20 +1,30 @@
 package com.api.MoviePedia.repository.model;
 
+import com.api.MoviePedia.enumeration.ImageRendition;
+import com.api.MoviePedia.enumeration.ImageStatus;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
 @Setter
 @Entity
-@Table(name = "imgur_images")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "imgurImages")
+@Table(name = "imgur_images", indexes = @Index(name = "uk_imgur_images_content_hash", columnList = "content_hash", unique = true))
 public class ImgurImageEntity {
     @Id
     @Column(name = "id_imgur_image")
@@ -25,4 +35,45 @@ public class ImgurImageEntity {
 
     @Column(name = "delete_hash")
     private String deleteHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private ImageStatus status;
+
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "reference_count", nullable = false, columnDefinition = "integer default 1")
+    private Integer referenceCount;
+
+    @Column(name = "thumbnail_link")
+    private String thumbnailLink;
+
+    @Column(name = "thumbnail_delete_hash")
+    private String thumbnailDeleteHash;
+
+    @Column(name = "card_link")
+    private String cardLink;
+
+    @Column(name = "card_delete_hash")
+    private String cardDeleteHash;
+
+    @Column(name = "spool_path", length = 1024)
+    private String spoolPath;
+
+    @Column(name = "upload_attempts")
+    private Integer uploadAttempts;
+
+    public ImageStatus getStatus(){
+        return status == null ? ImageStatus.READY : status;
+    }
+
+    public String getRenditionLink(ImageRendition rendition){
+        String renditionLink = switch (rendition){
+            case THUMBNAIL -> thumbnailLink;
+            case CARD -> cardLink;
+            case FULL -> link;
+        };
+        return renditionLink == null ? link : renditionLink;
+    }
 }
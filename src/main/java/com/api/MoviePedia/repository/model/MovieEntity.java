@@ -1,26 +1,33 @@
 package com.api.MoviePedia.repository.model;
 
 import com.api.MoviePedia.enumeration.Genre;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
-import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDateTime;
 import java.util.Set;
 
 @AllArgsConstructor
@@ -28,13 +35,21 @@ import java.util.Set;
 @Getter
 @Setter
 @Entity
-@Table(name = "movies")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "movies")
+@Table(name = "movies", indexes = @Index(name = "idx_movies_updated_at", columnList = "updated_at"))
 public class MovieEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "movie_id_generator")
+    @TableGenerator(name = "movie_id_generator", table = IdGenerators.TABLE, pkColumnName = IdGenerators.NAME_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "movies", allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "movie_id")
     private Long id;
 
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @Column(name = "title")
     private String title;
 
@@ -63,6 +78,7 @@ public class MovieEntity {
     @JoinColumn(name = "director_id", nullable = false)
     private DirectorEntity director;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "movies.actors")
     @ManyToMany
     @JoinTable(
             name = "movie_actor",
@@ -83,10 +99,14 @@ public class MovieEntity {
     @ManyToMany(mappedBy = "watchedMovies")
     private Set<UserEntity> usersWhoHaveWatchedMovie;
 
-    @OneToOne(cascade = CascadeType.ALL)
+    @ManyToOne(cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     @JoinColumn(name = "id_imgur_image")
     private ImgurImageEntity imgurImageEntity;
 
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     public void rateMovie(Integer rating){
         this.totalRating += rating;
         this.totalVotes++;
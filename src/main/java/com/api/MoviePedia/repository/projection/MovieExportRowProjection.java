@@ -0,0 +1,35 @@
+package com.api.MoviePedia.repository.projection;
+
+import com.api.MoviePedia.enumeration.Genre;
+
+import java.time.LocalDateTime;
+
+public interface MovieExportRowProjection {
+    Long getId();
+
+    String getTitle();
+
+    Integer getYear();
+
+    Genre getGenre();
+
+    Double getRating();
+
+    Integer getTotalRating();
+
+    Integer getTotalVotes();
+
+    LocalDateTime getUpdatedAt();
+
+    Long getDirectorId();
+
+    String getDirectorName();
+
+    String getDirectorSurname();
+
+    Long getActorId();
+
+    String getActorName();
+
+    String getActorSurname();
+}
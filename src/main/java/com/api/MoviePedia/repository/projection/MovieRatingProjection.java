@@ -0,0 +1,13 @@
+package com.api.MoviePedia.repository.projection;
+
+import com.api.MoviePedia.enumeration.Genre;
+
+public interface MovieRatingProjection {
+    Long getId();
+
+    Genre getGenre();
+
+    Integer getTotalRating();
+
+    Integer getTotalVotes();
+}
@@ -0,0 +1,21 @@
+package com.api.MoviePedia.repository.projection;
+
+import com.api.MoviePedia.enumeration.ImageStatus;
+
+public interface MovieVersionProjection {
+    Long getMovieVersion();
+
+    Long getDirectorVersion();
+
+    Long getActorCount();
+
+    Long getActorVersionSum();
+
+    ImageStatus getMovieImageStatus();
+
+    ImageStatus getDirectorImageStatus();
+
+    Long getActorPendingImageCount();
+
+    Long getActorFailedImageCount();
+}
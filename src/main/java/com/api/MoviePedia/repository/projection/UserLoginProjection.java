@@ -0,0 +1,10 @@
+package com.api.MoviePedia.repository.projection;
+
+import com.api.MoviePedia.repository.model.RefreshTokenEntity;
+import com.api.MoviePedia.repository.model.UserEntity;
+
+public interface UserLoginProjection {
+    UserEntity getUser();
+
+    RefreshTokenEntity getRefreshToken();
+}
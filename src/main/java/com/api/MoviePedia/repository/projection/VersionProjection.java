@@ -0,0 +1,9 @@
+package com.api.MoviePedia.repository.projection;
+
+import com.api.MoviePedia.enumeration.ImageStatus;
+
+public interface VersionProjection {
+    Long getVersion();
+
+    ImageStatus getImageStatus();
+}
@@ -1,6 +1,8 @@
 package com.api.MoviePedia.security;
 
 import com.api.MoviePedia.security.filter.JWTTokenValidationFilter;
+import com.api.MoviePedia.security.filter.RateLimitingFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -18,6 +20,7 @@ import org.springframework.security.web.authentication.www.BasicAuthenticationFi
 @EnableWebSecurity
 public class SecurityConfiguration {
     private final JWTTokenValidationFilter jwtTokenValidationFilter;
+    private final RateLimitingFilter rateLimitingFilter;
     @Bean
     SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
          return http
@@ -26,13 +29,18 @@ public class SecurityConfiguration {
                         httpSecuritySessionManagementConfigurer.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .csrf(AbstractHttpConfigurer::disable)
                 .addFilterBefore(jwtTokenValidationFilter, BasicAuthenticationFilter.class)
+                .addFilterAfter(rateLimitingFilter, JWTTokenValidationFilter.class)
                 .authorizeHttpRequests(authManagerRequestMatcherRegistry ->
                         authManagerRequestMatcherRegistry
+                                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                                 .requestMatchers("/api/v1/login").permitAll()
                                 .requestMatchers("/api/v1/logout").permitAll()
                                 .requestMatchers("/api/v1/refresh/token").permitAll()
                                 .requestMatchers(HttpMethod.GET, "/api/v1/movies").permitAll()
+                                .requestMatchers(HttpMethod.GET, "/api/v1/movies/trending").permitAll()
+                                .requestMatchers(HttpMethod.GET, "/api/v1/movies/top-rated").permitAll()
                                 .requestMatchers(HttpMethod.GET, "/api/v1/directors/**/movies/**").permitAll()
+                                .requestMatchers(HttpMethod.GET, "/api/v1/images/**").permitAll()
                                 .requestMatchers(HttpMethod.GET, "/api/v1/actors").permitAll()
                                 .requestMatchers(HttpMethod.GET, "/api/v1/actors/**").permitAll()
                                 .requestMatchers(HttpMethod.GET, "/api/v1/directors").permitAll()
@@ -55,6 +63,7 @@ public class SecurityConfiguration {
                                 .requestMatchers(HttpMethod.POST, "/api/v1/directors/**/movies/**/reviews/**/likes").hasAnyRole("USER", "ADMIN")
                                 .requestMatchers(HttpMethod.POST, "/api/v1/directors/**/movies/**/reviews/**/dislikes").hasAnyRole("USER", "ADMIN")
                                 .requestMatchers(HttpMethod.POST, "/api/v1/actors").hasAnyRole("CONTENT_CURATOR", "ADMIN")
+                                .requestMatchers(HttpMethod.POST, "/api/v1/catalog/import").hasAnyRole("CONTENT_CURATOR", "ADMIN")
                                 .requestMatchers(HttpMethod.PUT, "/api/v1/actors/**").hasAnyRole("CONTENT_CURATOR", "ADMIN")
                                 .requestMatchers(HttpMethod.DELETE, "/api/v1/actors/**").hasAnyRole("CONTENT_CURATOR", "ADMIN")
                                 .requestMatchers(HttpMethod.POST, "/api/v1/directors/**/movies").hasAnyRole("CONTENT_CURATOR", "ADMIN")
@@ -68,6 +77,9 @@ public class SecurityConfiguration {
                                 .requestMatchers(HttpMethod.GET, "/api/v1/users").hasRole("ADMIN")
                                 .requestMatchers(HttpMethod.DELETE, "/api/v1/users/**").hasRole("ADMIN")
                                 .requestMatchers(HttpMethod.GET, "/api/v1/content_curators").hasRole("ADMIN")
+                                .requestMatchers(HttpMethod.GET, "/api/v1/export/**").hasRole("ADMIN")
+                                .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/prometheus").permitAll()
+                                .requestMatchers("/actuator/**").hasRole("ADMIN")
                                 .requestMatchers("/error").permitAll()
                                 .anyRequest()
                                 .authenticated())
@@ -0,0 +1,123 @@
+package com.api.MoviePedia.security.filter;
+
+import com.api.MoviePedia.model.ExceptionErrorModel;
+import com.api.MoviePedia.util.TokenBucket;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@RequiredArgsConstructor
+@Component
+public class RateLimitingFilter extends OncePerRequestFilter {
+    @Value("${rate-limit.enabled}")
+    private Boolean rateLimitEnabled;
+
+    @Value("${rate-limit.login.capacity}")
+    private Integer loginCapacity;
+
+    @Value("${rate-limit.login.period-ms}")
+    private Long loginPeriodMs;
+
+    @Value("${rate-limit.movie-search.capacity}")
+    private Integer movieSearchCapacity;
+
+    @Value("${rate-limit.movie-search.period-ms}")
+    private Long movieSearchPeriodMs;
+
+    @Value("${rate-limit.movie-listing.capacity}")
+    private Integer movieListingCapacity;
+
+    @Value("${rate-limit.movie-listing.period-ms}")
+    private Long movieListingPeriodMs;
+
+    @Value("${rate-limit.default.capacity}")
+    private Integer defaultCapacity;
+
+    @Value("${rate-limit.default.period-ms}")
+    private Long defaultPeriodMs;
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<BucketKey, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private List<RateLimitRule> rateLimitRules;
+
+    @PostConstruct
+    public void initializeRateLimitRules(){
+        rateLimitRules = List.of(
+                new RateLimitRule("login", new AntPathRequestMatcher("/api/v1/login", HttpMethod.POST.name()), loginCapacity, loginPeriodMs),
+                new RateLimitRule("movie-search", new AntPathRequestMatcher("/api/v1/movies/search", HttpMethod.POST.name()), movieSearchCapacity, movieSearchPeriodMs),
+                new RateLimitRule("movie-listing", new AntPathRequestMatcher("/api/v1/movies", HttpMethod.GET.name()), movieListingCapacity, movieListingPeriodMs),
+                new RateLimitRule("default", AntPathRequestMatcher.antMatcher("/**"), defaultCapacity, defaultPeriodMs));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        if (!rateLimitEnabled){
+            filterChain.doFilter(request, response);
+            return;
+        }
+        RateLimitRule rateLimitRule = rateLimitRules.stream()
+                .filter(rule -> rule.requestMatcher().matches(request))
+                .findFirst()
+                .orElseThrow();
+        long nowNanos = System.nanoTime();
+        TokenBucket tokenBucket = buckets.computeIfAbsent(new BucketKey(rateLimitRule.name(), resolveClientKey(request)),
+                bucketKey -> new TokenBucket(rateLimitRule.capacity(), TimeUnit.MILLISECONDS.toNanos(rateLimitRule.periodMs()), nowNanos));
+        long waitNanos = tokenBucket.tryAcquire(nowNanos);
+        if (waitNanos == 0){
+            filterChain.doFilter(request, response);
+            return;
+        }
+        meterRegistry.counter("rate_limit.rejected", "rule", rateLimitRule.name()).increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1), 1)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ExceptionErrorModel(LocalDateTime.now(), HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too many requests, please slow down", request.getServletPath()));
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.idle-eviction-interval-ms}")
+    public void evictIdleBuckets(){
+        long nowNanos = System.nanoTime();
+        buckets.values().removeIf(tokenBucket -> tokenBucket.isFull(nowNanos));
+    }
+
+    private String resolveClientKey(HttpServletRequest request){
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof Long userId){
+            return "user:" + userId;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private record RateLimitRule(String name, RequestMatcher requestMatcher, Integer capacity, Long periodMs) {
+    }
+
+    private record BucketKey(String ruleName, String clientKey) {
+    }
+}
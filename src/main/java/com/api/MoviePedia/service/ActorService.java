@@ -1,22 +1,33 @@
 package com.api.MoviePedia.service;
 
+import com.api.MoviePedia.enumeration.StreamFormat;
 import com.api.MoviePedia.model.actor.ActorCreationDto;
 import com.api.MoviePedia.model.actor.ActorRetrievalDto;
 import com.api.MoviePedia.repository.model.ActorEntity;
+import org.springframework.core.io.InputStreamSource;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface ActorService {
     List<ActorRetrievalDto> getAllActors();
 
+    void streamAllActors(StreamFormat streamFormat, OutputStream outputStream) throws IOException;
+
     ActorRetrievalDto createActor(ActorCreationDto actorCreationDto) throws IOException;
 
+    ActorRetrievalDto createActor(ActorCreationDto actorCreationDto, InputStreamSource picture) throws IOException;
+
     ActorRetrievalDto getActorById(Long actorId);
 
     ActorEntity getActorEntityById(Long actorId);
 
+    String getActorETagById(Long actorId);
+
     void deleteActorById(Long actorId);
 
     ActorRetrievalDto editActorById(Long actorId, ActorCreationDto actorCreationDto) throws IOException;
+
+    ActorRetrievalDto editActorById(Long actorId, ActorCreationDto actorCreationDto, InputStreamSource picture) throws IOException;
 }
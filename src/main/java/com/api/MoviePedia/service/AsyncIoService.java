@@ -0,0 +1,8 @@
+package com.api.MoviePedia.service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncIoService {
+    <T> CompletableFuture<T> submit(Callable<T> ioTask);
+}
@@ -0,0 +1,10 @@
+package com.api.MoviePedia.service;
+
+import com.api.MoviePedia.model.catalog.CatalogImportReportDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface CatalogImportService {
+    CatalogImportReportDto importCatalog(InputStream inputStream) throws IOException;
+}
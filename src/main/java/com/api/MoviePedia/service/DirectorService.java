@@ -1,22 +1,33 @@
 package com.api.MoviePedia.service;
 
+import com.api.MoviePedia.enumeration.StreamFormat;
 import com.api.MoviePedia.model.director.DirectorCreationDto;
 import com.api.MoviePedia.model.director.DirectorRetrievalDto;
 import com.api.MoviePedia.repository.model.DirectorEntity;
+import org.springframework.core.io.InputStreamSource;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface DirectorService {
     List<DirectorRetrievalDto> getAllDirectors();
 
+    void streamAllDirectors(StreamFormat streamFormat, OutputStream outputStream) throws IOException;
+
     DirectorRetrievalDto getDirectorById(Long directorId);
 
     DirectorEntity getDirectorEntityById(Long directorId);
 
+    String getDirectorETagById(Long directorId);
+
     DirectorRetrievalDto createDirector(DirectorCreationDto directorCreationDto) throws IOException;
 
+    DirectorRetrievalDto createDirector(DirectorCreationDto directorCreationDto, InputStreamSource picture) throws IOException;
+
     DirectorRetrievalDto editDirectorById(Long directorId, DirectorCreationDto directorCreationDto) throws IOException;
 
+    DirectorRetrievalDto editDirectorById(Long directorId, DirectorCreationDto directorCreationDto, InputStreamSource picture) throws IOException;
+
     void deleteDirectorById(Long directorId);
 }
@@ -0,0 +1,15 @@
+package com.api.MoviePedia.service;
+
+import com.api.MoviePedia.enumeration.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+public interface ExportService {
+    void exportMovies(LocalDateTime updatedSince, ExportFormat exportFormat, OutputStream outputStream) throws IOException;
+
+    void exportRatings(LocalDateTime updatedSince, ExportFormat exportFormat, OutputStream outputStream) throws IOException;
+
+    void exportReviews(LocalDateTime updatedSince, ExportFormat exportFormat, OutputStream outputStream) throws IOException;
+}
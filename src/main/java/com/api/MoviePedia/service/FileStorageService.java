@@ -1,12 +1,13 @@
 package com.api.MoviePedia.service;
 
 import com.api.MoviePedia.repository.model.ImgurImageEntity;
+import org.springframework.core.io.Resource;
 
 import java.io.File;
 import java.io.IOException;
 
 public interface FileStorageService {
-    ImgurImageEntity saveFile(byte[] fileContents) throws IOException;
+    ImgurImageEntity saveFile(Resource file) throws IOException;
     File retrieveFile(String path) throws IOException;
     byte[] retrieveFileContents(String path) throws IOException;
     String retrieveFileContentsAsBase64String(String path) throws IOException;
@@ -0,0 +1,9 @@
+package com.api.MoviePedia.service;
+
+import java.util.Collection;
+
+public interface ImageDeletionOutboxService {
+    void enqueueDeletions(Collection<String> deleteHashes);
+
+    void drainOutbox();
+}
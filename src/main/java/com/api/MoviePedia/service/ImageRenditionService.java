@@ -0,0 +1,11 @@
+package com.api.MoviePedia.service;
+
+import com.api.MoviePedia.enumeration.ImageRendition;
+import org.springframework.core.io.Resource;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+public interface ImageRenditionService {
+    Map<ImageRendition, Resource> generateRenditions(Path imageFile);
+}
@@ -0,0 +1,10 @@
+package com.api.MoviePedia.service;
+
+import com.api.MoviePedia.repository.model.ImgurImageEntity;
+import org.springframework.core.io.Resource;
+
+public interface ImageStorageService {
+    ImgurImageEntity storeImage(Resource image);
+
+    void deleteImage(String deleteHash);
+}
@@ -0,0 +1,21 @@
+package com.api.MoviePedia.service;
+
+import com.api.MoviePedia.model.image.SpooledImage;
+import com.api.MoviePedia.repository.model.ImgurImageEntity;
+import org.springframework.core.io.InputStreamSource;
+
+import java.io.IOException;
+import java.util.function.Function;
+
+public interface ImageUploadService {
+    /**
+     * Spools and hashes the image outside of any transaction, then runs the unit of work in a new transaction. The unit of
+     * work receives {@code null} when there is no image and otherwise must pass the spooled image to {@link #acquireImage}.
+     * It is retried when a concurrent upload of the same content claimed the content hash first.
+     */
+    <T> T withSpooledImage(InputStreamSource imageSource, Function<SpooledImage, T> unitOfWork) throws IOException;
+
+    ImgurImageEntity acquireImage(SpooledImage spooledImage);
+
+    void releaseImage(ImgurImageEntity imgurImageEntity);
+}
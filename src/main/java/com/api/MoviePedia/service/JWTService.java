@@ -11,6 +11,10 @@ public interface JWTService {
 
     String createRefreshToken(UserEntity userEntity);
 
+    String resolveRefreshToken(UserEntity userEntity, RefreshTokenEntity currentRefreshToken);
+
+    String refreshAccessToken(String refreshToken);
+
     void deleteRefreshTokenByUserId(Long userId);
     void deleteRefreshTokenByToken(RefreshTokenRequest refreshTokenRequest);
 
@@ -22,7 +26,7 @@ public interface JWTService {
 
     void verifyRefreshTokenExpiration(RefreshTokenEntity refreshTokenEntity);
 
-    Boolean checkIfRefreshTokenExistsByUserId(Long userId);
+    void evictRefreshTokensByUserId(Long userId);
 
-    RefreshTokenEntity findRefreshTokenByUserId(Long id);
+    void purgeExpiredRefreshTokens();
 }
@@ -0,0 +1,17 @@
+package com.api.MoviePedia.service;
+
+import com.api.MoviePedia.enumeration.Genre;
+import com.api.MoviePedia.model.movie.MovieRetrievalDto;
+import com.api.MoviePedia.repository.model.MovieEntity;
+
+import java.util.List;
+
+public interface LeaderboardService {
+    void updateMovie(MovieEntity movieEntity);
+
+    void removeMovie(Long movieId);
+
+    List<MovieRetrievalDto> getTopRatedMovies(Genre genre, Integer pageNumber, Integer pageSize);
+
+    void rebuildLeaderboards();
+}
@@ -0,0 +1,7 @@
+package com.api.MoviePedia.service;
+
+import java.nio.file.Path;
+
+public interface LocalImageStorageService extends ImageStorageService {
+    Path getImagePath(String imageKey);
+}
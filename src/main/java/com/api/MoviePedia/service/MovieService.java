@@ -1,23 +1,34 @@
 package com.api.MoviePedia.service;
 
+import com.api.MoviePedia.enumeration.StreamFormat;
 import com.api.MoviePedia.model.movie.MovieCreationDto;
 import com.api.MoviePedia.model.movie.MovieRetrievalDto;
 import com.api.MoviePedia.model.movie.SearchDto;
 import com.api.MoviePedia.repository.model.MovieEntity;
+import org.springframework.core.io.InputStreamSource;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Set;
 
 public interface MovieService {
     List<MovieRetrievalDto> getAllMovies();
 
+    void streamAllMovies(StreamFormat streamFormat, OutputStream outputStream) throws IOException;
+
     MovieRetrievalDto getMovieById(Long directorId, Long movieId);
 
+    String getMovieETag(Long directorId, Long movieId);
+
     MovieRetrievalDto createMovie(Long directorId, MovieCreationDto movieCreationDto) throws IOException;
 
+    MovieRetrievalDto createMovie(Long directorId, MovieCreationDto movieCreationDto, InputStreamSource picture) throws IOException;
+
     MovieRetrievalDto editMovieById(Long movieId, Long directorId, MovieCreationDto movieCreationDto) throws IOException;
 
+    MovieRetrievalDto editMovieById(Long movieId, Long directorId, MovieCreationDto movieCreationDto, InputStreamSource picture) throws IOException;
+
     void deleteMovieById(Long directorId, Long movieId);
 
     List<MovieRetrievalDto> getMoviesBySearchCriteria(SearchDto searchDto, Integer pageNumber, Integer pageSize);
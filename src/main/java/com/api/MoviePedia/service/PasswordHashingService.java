@@ -0,0 +1,7 @@
+package com.api.MoviePedia.service;
+
+public interface PasswordHashingService {
+    String encode(String rawPassword);
+
+    Boolean matches(String rawPassword, String encodedPassword);
+}
@@ -0,0 +1,14 @@
+package com.api.MoviePedia.service;
+
+import com.api.MoviePedia.enumeration.ActivityType;
+import com.api.MoviePedia.model.movie.MovieRetrievalDto;
+
+import java.util.List;
+
+public interface TrendingService {
+    void recordActivity(Long movieId, ActivityType activityType);
+
+    List<MovieRetrievalDto> getTrendingMovies();
+
+    void refreshTrendingMovies();
+}
@@ -1,10 +1,13 @@
 package com.api.MoviePedia.service;
 
+import com.api.MoviePedia.enumeration.StreamFormat;
 import com.api.MoviePedia.model.UserCreationDto;
 import com.api.MoviePedia.model.UserEditDto;
 import com.api.MoviePedia.model.UserRetrievalDto;
 import com.api.MoviePedia.repository.model.UserEntity;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface UserService {
@@ -20,6 +23,8 @@ public interface UserService {
 
     List<UserRetrievalDto> getAllUsers();
 
+    void streamAllUsers(StreamFormat streamFormat, OutputStream outputStream) throws IOException;
+
     UserRetrievalDto createContentCurator(UserCreationDto creationDto);
 
     List<UserRetrievalDto> getAllContentCurators();
@@ -1,20 +1,29 @@
 package com.api.MoviePedia.service.impl;
 
+import com.api.MoviePedia.enumeration.StreamFormat;
 import com.api.MoviePedia.exception.DuplicateDatabaseEntryException;
 import com.api.MoviePedia.model.actor.ActorCreationDto;
 import com.api.MoviePedia.model.actor.ActorRetrievalDto;
+import com.api.MoviePedia.model.image.SpooledImage;
 import com.api.MoviePedia.repository.ActorRepository;
 import com.api.MoviePedia.repository.model.ActorEntity;
 import com.api.MoviePedia.repository.model.ImgurImageEntity;
 import com.api.MoviePedia.repository.model.MovieEntity;
+import com.api.MoviePedia.repository.projection.VersionProjection;
 import com.api.MoviePedia.service.ActorService;
-import com.api.MoviePedia.service.FileStorageService;
-import com.api.MoviePedia.util.ImageComparator;
+import com.api.MoviePedia.service.ImageUploadService;
+import com.api.MoviePedia.util.ETagUtils;
+import com.api.MoviePedia.util.JsonStreamWriter;
+import com.api.MoviePedia.util.jdbc.CursorFetch;
 import com.api.MoviePedia.util.mapper.ActorMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -22,19 +31,31 @@ import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RequiredArgsConstructor
 @Service
 public class ActorServiceImpl implements ActorService {
     private final ActorRepository actorRepository;
     private final ActorMapper actorMapper;
-    private final FileStorageService fileStorageService;
+    private final JsonStreamWriter jsonStreamWriter;
+    private final CursorFetch cursorFetch;
+    private final ImageUploadService imageUploadService;
 
     @Override
     public List<ActorRetrievalDto> getAllActors() {
         return actorRepository.findAll().stream().map(actorEntity -> actorMapper.entityToRetrievalDto(actorEntity, actorEntity.getImgurImageEntity().getLink())).collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public void streamAllActors(StreamFormat streamFormat, OutputStream outputStream) throws IOException {
+        cursorFetch.enableForCurrentTransaction();
+        try (Stream<ActorRetrievalDto> actors = actorRepository.streamAllRetrievalDtos()){
+            jsonStreamWriter.write(actors, streamFormat, outputStream);
+        }
+    }
+
     @Override
     public ActorRetrievalDto getActorById(Long actorId) {
         Optional<ActorEntity> optionalActorEntity = actorRepository.findById(actorId);
@@ -53,25 +74,50 @@ public class ActorServiceImpl implements ActorService {
         return optionalActorEntity.get();
     }
 
+    @Override
+    public String getActorETagById(Long actorId) {
+        VersionProjection versions = actorRepository.findVersionById(actorId)
+                .orElseThrow(() -> new NoSuchElementException("Actor with id: " + actorId + " does not exist"));
+        return ETagUtils.strongETag("actor", versions.getVersion(), versions.getImageStatus());
+    }
+
     @Override
     public ActorRetrievalDto createActor(ActorCreationDto actorCreationDto) throws IOException {
+        return createActor(actorCreationDto, toPictureSource(actorCreationDto.getPicture()));
+    }
+
+    @Override
+    public ActorRetrievalDto createActor(ActorCreationDto actorCreationDto, InputStreamSource picture) throws IOException {
+        return imageUploadService.withSpooledImage(picture, spooledImage -> createActor(actorCreationDto, spooledImage));
+    }
+
+    private ActorRetrievalDto createActor(ActorCreationDto actorCreationDto, SpooledImage spooledImage) {
         Optional<ActorEntity> optionalActorEntity = actorRepository.findByNameAndSurname(actorCreationDto.getName(), actorCreationDto.getSurname());
         if (optionalActorEntity.isPresent()){
             throw new DuplicateDatabaseEntryException("Actor with name: " + actorCreationDto.getName() + " and surname: " + actorCreationDto.getSurname() + " already exists");
         }
         ImgurImageEntity imgurImageEntity;
-        if (actorCreationDto.getPicture().length != 0){
-            imgurImageEntity = fileStorageService.saveFile(actorCreationDto.getPicture());
+        if (spooledImage != null){
+            imgurImageEntity = imageUploadService.acquireImage(spooledImage);
         } else {
             imgurImageEntity = new ImgurImageEntity();
         }
-        ActorEntity actorEntity = actorMapper.creationDtoToEntity(actorCreationDto, null, imgurImageEntity, new HashSet<>());
+        ActorEntity actorEntity = actorMapper.creationDtoToEntity(actorCreationDto, null, null, imgurImageEntity, new HashSet<>());
         actorEntity = actorRepository.save(actorEntity);
         return actorMapper.entityToRetrievalDto(actorEntity, actorEntity.getImgurImageEntity().getLink());
     }
 
     @Override
     public ActorRetrievalDto editActorById(Long actorId, ActorCreationDto actorCreationDto) throws IOException {
+        return editActorById(actorId, actorCreationDto, toPictureSource(actorCreationDto.getPicture()));
+    }
+
+    @Override
+    public ActorRetrievalDto editActorById(Long actorId, ActorCreationDto actorCreationDto, InputStreamSource picture) throws IOException {
+        return imageUploadService.withSpooledImage(picture, spooledImage -> editActorById(actorId, actorCreationDto, spooledImage));
+    }
+
+    private ActorRetrievalDto editActorById(Long actorId, ActorCreationDto actorCreationDto, SpooledImage spooledImage) {
        Optional<ActorEntity> optionalActorEntityById = actorRepository.findById(actorId);
         if (optionalActorEntityById.isEmpty()){
             throw new NoSuchElementException("Actor with id: " + actorId + " does not exist");
@@ -82,23 +128,23 @@ public class ActorServiceImpl implements ActorService {
                         !optionalActorEntityById.get().getSurname().equals(optionalActorEntityByNameAndSurname.get().getSurname()))){
             throw new DuplicateDatabaseEntryException("Actor with name: " + actorCreationDto.getName() + " and surname: " + actorCreationDto.getSurname() + " already exists");
         }
+        ImgurImageEntity previousImgurImageEntity = optionalActorEntityById.get().getImgurImageEntity();
         ImgurImageEntity imgurImageEntity;
-        if (actorCreationDto.getPicture().length != 0){
-            imgurImageEntity = editActorPicture(actorCreationDto, optionalActorEntityById.get());
+        if (spooledImage != null){
+            imgurImageEntity = imageUploadService.acquireImage(spooledImage);
         } else{
-            imgurImageEntity = optionalActorEntityById.get().getImgurImageEntity();
+            imgurImageEntity = previousImgurImageEntity;
         }
 
-        ActorEntity actorEntity = actorMapper.creationDtoToEntity(actorCreationDto, actorId, imgurImageEntity, optionalActorEntityById.get().getMovies());
+        ActorEntity actorEntity = actorMapper.creationDtoToEntity(actorCreationDto, actorId, optionalActorEntityById.get().getVersion(), imgurImageEntity, optionalActorEntityById.get().getMovies());
         actorEntity = actorRepository.save(actorEntity);
+        if (spooledImage != null){
+            imageUploadService.releaseImage(previousImgurImageEntity);
+        }
         return actorMapper.entityToRetrievalDto(actorEntity, actorEntity.getImgurImageEntity().getLink());
     }
 
-    private ImgurImageEntity editActorPicture(ActorCreationDto newActorData, ActorEntity oldActorData) throws IOException {
-        fileStorageService.deleteFileByHash(oldActorData.getImgurImageEntity().getId());
-        return fileStorageService.saveFile(newActorData.getPicture());
-    }
-
+    @Transactional
     @Override
     public void deleteActorById(Long actorId){
         Optional<ActorEntity> optionalActorEntity = actorRepository.findById(actorId);
@@ -106,9 +152,13 @@ public class ActorServiceImpl implements ActorService {
             throw new NoSuchElementException("Actor with id: " + actorId + " does not exist");
         }
         ActorEntity actorEntity = optionalActorEntity.get();
-        fileStorageService.deleteFileByHash(actorEntity.getImgurImageEntity().getId());
         removeActorMovies(actorEntity);
         actorRepository.deleteById(actorId);
+        imageUploadService.releaseImage(actorEntity.getImgurImageEntity());
+    }
+
+    private InputStreamSource toPictureSource(byte[] picture){
+        return picture == null || picture.length == 0 ? null : new ByteArrayResource(picture);
     }
 
     private void removeActorMovies(ActorEntity actorEntity) {
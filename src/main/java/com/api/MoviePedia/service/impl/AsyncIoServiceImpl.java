@@ -0,0 +1,194 @@
+package com.api.MoviePedia.service.impl;
+
+import com.api.MoviePedia.exception.AsyncIoUnavailableException;
+import com.api.MoviePedia.service.AsyncIoService;
+import com.api.MoviePedia.util.SqlStatementStatistics;
+import com.api.MoviePedia.util.ThreadFactories;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+@RequiredArgsConstructor
+@Service
+public class AsyncIoServiceImpl implements AsyncIoService {
+    private static final String ASYNC_IO_METRIC = "async.io";
+
+    @Value("${async.io.pool-size}")
+    private Integer poolSize;
+
+    @Value("${async.io.queue-capacity}")
+    private Integer queueCapacity;
+
+    @Value("${async.io.timeout-ms}")
+    private Long timeoutMs;
+
+    @Value("${execution.virtual-threads.enabled}")
+    private Boolean virtualThreadsEnabled;
+
+    private final MeterRegistry meterRegistry;
+    private final PlatformTransactionManager transactionManager;
+
+    private ThreadPoolExecutor ioExecutor;
+    private Executor securityContextIoExecutor;
+    private TransactionTemplate transactionTemplate;
+    private Counter rejectedCounter;
+    private Counter timedOutCounter;
+
+    private ScheduledThreadPoolExecutor timeoutScheduler;
+
+    @PostConstruct
+    public void initializeIoExecutor(){
+        ioExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                ThreadFactories.of("async-io-", virtualThreadsEnabled));
+        securityContextIoExecutor = new DelegatingSecurityContextExecutor(ioExecutor);
+        // one shared timer; cancelled timeouts leave its queue at once instead of pinning the task until they fire
+        timeoutScheduler = new ScheduledThreadPoolExecutor(1, ThreadFactories.platformDaemon("async-io-timeout-"));
+        timeoutScheduler.setRemoveOnCancelPolicy(true);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        new ExecutorServiceMetrics(ioExecutor, ASYNC_IO_METRIC, Tags.empty()).bindTo(meterRegistry);
+        rejectedCounter = meterRegistry.counter(ASYNC_IO_METRIC + ".rejected");
+        timedOutCounter = meterRegistry.counter(ASYNC_IO_METRIC + ".timed_out");
+    }
+
+    @PreDestroy
+    public void shutdownIoExecutor(){
+        ioExecutor.shutdown();
+        timeoutScheduler.shutdownNow();
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(Callable<T> ioTask) {
+        IoTask<T> monitoredIoTask = new IoTask<>(SqlStatementStatistics.propagate(ioTask));
+        ScheduledFuture<?> timeout = timeoutScheduler.schedule(() -> {
+            if (monitoredIoTask.timeOut()){
+                timedOutCounter.increment();
+            }
+        }, timeoutMs, TimeUnit.MILLISECONDS);
+        monitoredIoTask.result.whenComplete((taskResult, exception) -> timeout.cancel(false));
+        try {
+            securityContextIoExecutor.execute(monitoredIoTask);
+        } catch (RejectedExecutionException exception){
+            timeout.cancel(false);
+            rejectedCounter.increment();
+            throw new AsyncIoUnavailableException("Too many concurrent upload requests, please try again later");
+        }
+        return monitoredIoTask.result;
+    }
+
+    /**
+     * Runs the task inside a transaction that the service's own transactions join, so nothing is committed until
+     * the task has finished. Whichever comes first wins: if the timeout fires before the task starts committing,
+     * the worker is interrupted, the transaction is rolled back and the caller gets a {@link TimeoutException};
+     * once committing has started the timeout is ignored and the caller gets the (late) result.
+     * <p>
+     * No lock is taken: the {@code state} CAS picks the side that completes the result, and the timeout claims the
+     * worker by swapping it out of {@code worker}, so the worker knows to wait for that interrupt before clearing it.
+     */
+    private final class IoTask<T> implements Runnable {
+        private static final int RUNNING = 0;
+        private static final int COMMITTING = 1;
+        private static final int FAILED = 2;
+        private static final int TIMED_OUT = 3;
+
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(RUNNING);
+        private final AtomicReference<Thread> worker = new AtomicReference<>();
+        private volatile boolean workerInterrupted;
+        private Callable<T> ioTask;
+
+        private IoTask(Callable<T> ioTask) {
+            this.ioTask = ioTask;
+        }
+
+        @Override
+        public void run() {
+            Callable<T> task = ioTask;
+            // the task and whatever it captured are not retained once it has run or been given up on
+            ioTask = null;
+            if (state.get() == TIMED_OUT){
+                return;
+            }
+            worker.set(Thread.currentThread());
+            try {
+                // a timeout that fired before the worker was published cannot interrupt it, so check again
+                if (state.get() == TIMED_OUT){
+                    return;
+                }
+                T taskResult = transactionTemplate.execute(status -> {
+                    T callResult = call(task);
+                    if (!state.compareAndSet(RUNNING, COMMITTING)){
+                        status.setRollbackOnly();
+                    }
+                    return callResult;
+                });
+                if (state.get() == COMMITTING){
+                    result.complete(taskResult);
+                }
+            } catch (RuntimeException exception){
+                if (state.compareAndSet(RUNNING, FAILED) || state.get() == COMMITTING){
+                    result.completeExceptionally(exception instanceof CompletionException ? exception.getCause() : exception);
+                }
+            } finally {
+                stopWorking();
+            }
+        }
+
+        private void stopWorking(){
+            if (worker.getAndSet(null) == null){
+                // the timeout has claimed this worker and is about to interrupt it
+                while (!workerInterrupted){
+                    Thread.onSpinWait();
+                }
+            }
+            // an interrupt aimed at this task must not leak into the next task run by the pooled thread
+            Thread.interrupted();
+        }
+
+        private boolean timeOut(){
+            if (!state.compareAndSet(RUNNING, TIMED_OUT)){
+                return false;
+            }
+            Thread runningWorker = worker.getAndSet(null);
+            if (runningWorker != null){
+                runningWorker.interrupt();
+                workerInterrupted = true;
+            }
+            // the worker leaves a timed out result alone, so its failure from the interrupt cannot race this
+            result.completeExceptionally(new TimeoutException());
+            return true;
+        }
+    }
+
+    private <T> T call(Callable<T> ioTask){
+        try {
+            return ioTask.call();
+        } catch (RuntimeException exception){
+            throw exception;
+        } catch (Exception exception){
+            throw new CompletionException(exception);
+        }
+    }
+}
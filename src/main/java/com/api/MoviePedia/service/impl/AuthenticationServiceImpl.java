@@ -6,13 +6,13 @@ import com.api.MoviePedia.exception.RequestBodyFieldValidationException;
 import com.api.MoviePedia.model.FieldValidationErrorModel;
 import com.api.MoviePedia.model.RefreshTokenRequest;
 import com.api.MoviePedia.repository.UserRepository;
-import com.api.MoviePedia.repository.model.RefreshTokenEntity;
 import com.api.MoviePedia.repository.model.UserEntity;
+import com.api.MoviePedia.repository.projection.UserLoginProjection;
 import com.api.MoviePedia.service.AuthenticationService;
 import com.api.MoviePedia.service.JWTService;
+import com.api.MoviePedia.service.PasswordHashingService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
@@ -25,25 +25,21 @@ import java.util.Optional;
 public class AuthenticationServiceImpl implements AuthenticationService {
     private final UserRepository userRepository;
     private final JWTService jwtService;
-    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final PasswordHashingService passwordHashingService;
     @Override
     public Map<String, String> loginUser(String username, String password) {
-        Optional<UserEntity> optionalUserEntity = userRepository.findByUsername(username);
-        if (optionalUserEntity.isEmpty()){
+        Optional<UserLoginProjection> optionalUserLogin = userRepository.findLoginByUsername(username);
+        if (optionalUserLogin.isEmpty()){
             throw new InvalidLoginException("Invalid username or password");
         }
 
-        if (!bCryptPasswordEncoder.matches(password, optionalUserEntity.get().getPassword())){
+        UserEntity userEntity = optionalUserLogin.get().getUser();
+        if (!passwordHashingService.matches(password, userEntity.getPassword())){
             throw new InvalidLoginException("Invalid username or password");
         }
-        String refreshToken;
-        if (jwtService.checkIfRefreshTokenExistsByUserId(optionalUserEntity.get().getId())){
-            refreshToken = jwtService.findRefreshTokenByUserId(optionalUserEntity.get().getId()).getToken();
-        } else {
-            refreshToken = jwtService.createRefreshToken(optionalUserEntity.get());
-        }
+        String refreshToken = jwtService.resolveRefreshToken(userEntity, optionalUserLogin.get().getRefreshToken());
 
-        String accessToken = jwtService.generateAccessToken(optionalUserEntity.get().getId(), optionalUserEntity.get().getRole().name());
+        String accessToken = jwtService.generateAccessToken(userEntity.getId(), userEntity.getRole().name());
         Map<String, String> tokenMap = new HashMap<>();
         tokenMap.put("accessToken", accessToken);
         tokenMap.put("refreshToken", refreshToken);
@@ -52,9 +48,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
     @Override
     public Map<String, String> refreshAccessToken(String refreshToken){
-        RefreshTokenEntity refreshTokenEntity = jwtService.findRefreshTokenByToken(refreshToken);
-        jwtService.verifyRefreshTokenExpiration(refreshTokenEntity);
-        String accessToken = jwtService.generateAccessToken(refreshTokenEntity.getUser().getId(), refreshTokenEntity.getUser().getRole().name());
+        String accessToken = jwtService.refreshAccessToken(refreshToken);
         Map<String, String> tokenMap = new HashMap<>();
         tokenMap.put("accessToken", accessToken);
         tokenMap.put("refreshToken", refreshToken);
@@ -0,0 +1,323 @@
+package com.api.MoviePedia.service.impl;
+
+import com.api.MoviePedia.enumeration.ImageStatus;
+import com.api.MoviePedia.exception.DuplicateDatabaseEntryException;
+import com.api.MoviePedia.model.actor.ActorCreationDto;
+import com.api.MoviePedia.model.catalog.CatalogImageDto;
+import com.api.MoviePedia.model.catalog.CatalogImportErrorDto;
+import com.api.MoviePedia.model.catalog.CatalogImportRecordDto;
+import com.api.MoviePedia.model.catalog.CatalogImportReportDto;
+import com.api.MoviePedia.model.director.DirectorCreationDto;
+import com.api.MoviePedia.model.movie.MovieCreationDto;
+import com.api.MoviePedia.repository.ActorRepository;
+import com.api.MoviePedia.repository.DirectorRepository;
+import com.api.MoviePedia.repository.ImgurImageRepository;
+import com.api.MoviePedia.repository.MovieRepository;
+import com.api.MoviePedia.repository.model.ActorEntity;
+import com.api.MoviePedia.repository.model.DirectorEntity;
+import com.api.MoviePedia.repository.model.ImgurImageEntity;
+import com.api.MoviePedia.repository.model.MovieEntity;
+import com.api.MoviePedia.service.CatalogImportService;
+import com.api.MoviePedia.service.LeaderboardService;
+import com.api.MoviePedia.util.mapper.ActorMapper;
+import com.api.MoviePedia.util.mapper.DirectorMapper;
+import com.api.MoviePedia.util.mapper.MovieMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+@Service
+public class CatalogImportServiceImpl implements CatalogImportService {
+    @Value("${catalog.import.commit-size}")
+    private Integer commitSize;
+
+    private final DirectorRepository directorRepository;
+    private final ActorRepository actorRepository;
+    private final MovieRepository movieRepository;
+    private final ImgurImageRepository imgurImageRepository;
+    private final DirectorMapper directorMapper;
+    private final ActorMapper actorMapper;
+    private final MovieMapper movieMapper;
+    private final LeaderboardService leaderboardService;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+
+    @Override
+    public CatalogImportReportDto importCatalog(InputStream inputStream) throws IOException {
+        ObjectReader recordReader = objectMapper.readerFor(CatalogImportRecordDto.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ImportProgress progress = new ImportProgress();
+        List<NumberedRecord> chunk = new ArrayList<>(commitSize);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))){
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null){
+                lineNumber++;
+                if (line.isBlank()){
+                    continue;
+                }
+                progress.totalRecords++;
+                try {
+                    chunk.add(new NumberedRecord(lineNumber, recordReader.readValue(line)));
+                } catch (JsonProcessingException exception){
+                    progress.errors.add(new CatalogImportErrorDto(lineNumber, "Malformed record: " + exception.getOriginalMessage()));
+                    continue;
+                }
+                if (chunk.size() >= commitSize){
+                    importChunk(chunk, transactionTemplate, progress);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()){
+            importChunk(chunk, transactionTemplate, progress);
+        }
+        return new CatalogImportReportDto(progress.totalRecords, progress.importedRecords, (long) progress.errors.size(), progress.errors);
+    }
+
+    private void importChunk(List<NumberedRecord> chunk, TransactionTemplate transactionTemplate, ImportProgress progress){
+        List<CatalogImportErrorDto> chunkErrors = new ArrayList<>();
+        List<MovieEntity> importedMovies = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                CatalogKeys catalogKeys = loadCatalogKeys(chunk);
+                for (NumberedRecord numberedRecord : chunk) {
+                    try {
+                        importRecord(numberedRecord.record(), catalogKeys, importedMovies);
+                    } catch (IllegalArgumentException | NoSuchElementException | DuplicateDatabaseEntryException exception){
+                        chunkErrors.add(new CatalogImportErrorDto(numberedRecord.lineNumber(), exception.getMessage()));
+                    }
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        } catch (RuntimeException exception){
+            importRecordsIndividually(chunk, transactionTemplate, progress);
+            return;
+        }
+        progress.importedRecords += chunk.size() - chunkErrors.size();
+        progress.errors.addAll(chunkErrors);
+        importedMovies.forEach(leaderboardService::updateMovie);
+    }
+
+    private void importRecordsIndividually(List<NumberedRecord> chunk, TransactionTemplate transactionTemplate, ImportProgress progress){
+        for (NumberedRecord numberedRecord : chunk) {
+            List<MovieEntity> importedMovies = new ArrayList<>(1);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    importRecord(numberedRecord.record(), loadCatalogKeys(List.of(numberedRecord)), importedMovies);
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+                progress.importedRecords++;
+                importedMovies.forEach(leaderboardService::updateMovie);
+            } catch (RuntimeException exception){
+                progress.errors.add(new CatalogImportErrorDto(numberedRecord.lineNumber(), NestedExceptionUtils.getMostSpecificCause(exception).getMessage()));
+            }
+        }
+    }
+
+    /**
+     * Resolves every natural key the chunk refers to with one IN query per entity type, so records are checked and linked
+     * against local maps instead of one lookup per record. The maps are kept up to date as the chunk creates entities.
+     */
+    private CatalogKeys loadCatalogKeys(List<NumberedRecord> chunk){
+        Set<PersonName> directorNames = new HashSet<>();
+        Set<PersonName> actorNames = new HashSet<>();
+        Set<String> movieTitles = new HashSet<>();
+        Set<String> imageIds = new HashSet<>();
+        for (NumberedRecord numberedRecord : chunk) {
+            CatalogImportRecordDto record = numberedRecord.record();
+            if (record.getType() == null){
+                continue;
+            }
+            switch (record.getType()){
+                case DIRECTOR -> directorNames.add(new PersonName(record.getName(), record.getSurname()));
+                case ACTOR -> actorNames.add(new PersonName(record.getName(), record.getSurname()));
+                case MOVIE -> {
+                    movieTitles.add(record.getTitle());
+                    directorNames.add(new PersonName(record.getDirectorName(), record.getDirectorSurname()));
+                }
+                case CAST -> {
+                    movieTitles.add(record.getMovieTitle());
+                    actorNames.add(new PersonName(record.getActorName(), record.getActorSurname()));
+                }
+            }
+            if (record.getPicture() != null && record.getPicture().getId() != null){
+                imageIds.add(record.getPicture().getId());
+            }
+        }
+        directorNames.removeIf(PersonName::isIncomplete);
+        actorNames.removeIf(PersonName::isIncomplete);
+        movieTitles.remove(null);
+
+        CatalogKeys catalogKeys = new CatalogKeys();
+        if (!directorNames.isEmpty()){
+            directorRepository.findAllByNameInAndSurnameIn(PersonName.names(directorNames), PersonName.surnames(directorNames))
+                    .forEach(director -> catalogKeys.directors.put(new PersonName(director.getName(), director.getSurname()).key(), director));
+        }
+        if (!actorNames.isEmpty()){
+            actorRepository.findAllByNameInAndSurnameIn(PersonName.names(actorNames), PersonName.surnames(actorNames))
+                    .forEach(actor -> catalogKeys.actors.put(new PersonName(actor.getName(), actor.getSurname()).key(), actor));
+        }
+        if (!movieTitles.isEmpty()){
+            movieRepository.findAllByTitleIn(movieTitles).forEach(movie -> catalogKeys.movies.put(naturalKey(movie.getTitle()), movie));
+        }
+        if (!imageIds.isEmpty()){
+            catalogKeys.imageIds.addAll(imgurImageRepository.findExistingIds(imageIds));
+        }
+        return catalogKeys;
+    }
+
+    private void importRecord(CatalogImportRecordDto record, CatalogKeys catalogKeys, List<MovieEntity> importedMovies){
+        if (record.getType() == null){
+            throw new IllegalArgumentException("Record type is required");
+        }
+        switch (record.getType()){
+            case DIRECTOR -> importDirector(record, catalogKeys);
+            case ACTOR -> importActor(record, catalogKeys);
+            case MOVIE -> importedMovies.add(importMovie(record, catalogKeys));
+            case CAST -> importCastLink(record, catalogKeys);
+        }
+    }
+
+    private void importDirector(CatalogImportRecordDto record, CatalogKeys catalogKeys){
+        requireField(record.getName(), "name", record);
+        requireField(record.getSurname(), "surname", record);
+        requireField(record.getDateOfBirth(), "dateOfBirth", record);
+        PersonName directorName = new PersonName(record.getName(), record.getSurname()).key();
+        if (catalogKeys.directors.containsKey(directorName)){
+            throw new DuplicateDatabaseEntryException("Director with name: " + record.getName() + " and surname: " + record.getSurname() + " already exists");
+        }
+        DirectorCreationDto directorCreationDto = new DirectorCreationDto(record.getName(), record.getSurname(), record.getDateOfBirth(), record.getBiography(), null);
+        catalogKeys.directors.put(directorName, directorRepository.save(directorMapper.creationDtoToEntity(directorCreationDto, null, null,
+                toImageEntity(record, catalogKeys), new HashSet<>())));
+    }
+
+    private void importActor(CatalogImportRecordDto record, CatalogKeys catalogKeys){
+        requireField(record.getName(), "name", record);
+        requireField(record.getSurname(), "surname", record);
+        requireField(record.getDateOfBirth(), "dateOfBirth", record);
+        PersonName actorName = new PersonName(record.getName(), record.getSurname()).key();
+        if (catalogKeys.actors.containsKey(actorName)){
+            throw new DuplicateDatabaseEntryException("Actor with name: " + record.getName() + " and surname: " + record.getSurname() + " already exists");
+        }
+        ActorCreationDto actorCreationDto = new ActorCreationDto(record.getName(), record.getSurname(), record.getDateOfBirth(), record.getBiography(), null);
+        catalogKeys.actors.put(actorName, actorRepository.save(actorMapper.creationDtoToEntity(actorCreationDto, null, null,
+                toImageEntity(record, catalogKeys), new HashSet<>())));
+    }
+
+    private MovieEntity importMovie(CatalogImportRecordDto record, CatalogKeys catalogKeys){
+        requireField(record.getTitle(), "title", record);
+        requireField(record.getDescription(), "description", record);
+        requireField(record.getYear(), "year", record);
+        requireField(record.getGenre(), "genre", record);
+        requireField(record.getDirectorName(), "directorName", record);
+        requireField(record.getDirectorSurname(), "directorSurname", record);
+        if (catalogKeys.movies.containsKey(naturalKey(record.getTitle()))){
+            throw new DuplicateDatabaseEntryException("Movie with title: " + record.getTitle() + " already exists");
+        }
+        DirectorEntity directorEntity = Optional.ofNullable(catalogKeys.directors.get(new PersonName(record.getDirectorName(), record.getDirectorSurname()).key()))
+                .orElseThrow(() -> new NoSuchElementException("Director with name: " + record.getDirectorName() + " and surname: " + record.getDirectorSurname() + " does not exist"));
+        MovieCreationDto movieCreationDto = new MovieCreationDto(record.getTitle(), record.getDescription(), record.getYear(), record.getGenre(), null, record.getTrailerYoutubeUrl());
+        MovieEntity movieEntity = movieMapper.creationDtoToEntity(movieCreationDto, null, null, toImageEntity(record, catalogKeys), 0, 0, 0.0,
+                directorEntity, new HashSet<>(), new HashSet<>());
+        MovieEntity savedMovieEntity = movieRepository.save(movieEntity);
+        catalogKeys.movies.put(naturalKey(savedMovieEntity.getTitle()), savedMovieEntity);
+        return savedMovieEntity;
+    }
+
+    private void importCastLink(CatalogImportRecordDto record, CatalogKeys catalogKeys){
+        requireField(record.getMovieTitle(), "movieTitle", record);
+        requireField(record.getActorName(), "actorName", record);
+        requireField(record.getActorSurname(), "actorSurname", record);
+        MovieEntity movieEntity = Optional.ofNullable(catalogKeys.movies.get(naturalKey(record.getMovieTitle())))
+                .orElseThrow(() -> new NoSuchElementException("Movie with title: " + record.getMovieTitle() + " does not exist"));
+        ActorEntity actorEntity = Optional.ofNullable(catalogKeys.actors.get(new PersonName(record.getActorName(), record.getActorSurname()).key()))
+                .orElseThrow(() -> new NoSuchElementException("Actor with name: " + record.getActorName() + " and surname: " + record.getActorSurname() + " does not exist"));
+        if (movieEntity.getActors().add(actorEntity)){
+            actorEntity.getMovies().add(movieEntity);
+        }
+    }
+
+    private ImgurImageEntity toImageEntity(CatalogImportRecordDto record, CatalogKeys catalogKeys){
+        CatalogImageDto picture = record.getPicture();
+        if (picture == null || picture.getId() == null || picture.getId().isBlank() || picture.getLink() == null || picture.getLink().isBlank()){
+            throw new IllegalArgumentException("Field 'picture' with an already hosted image id and link is required for " + record.getType() + " records");
+        }
+        if (!catalogKeys.imageIds.add(picture.getId())){
+            throw new DuplicateDatabaseEntryException("Image with id: " + picture.getId() + " is already in use");
+        }
+        return new ImgurImageEntity(picture.getId(), picture.getLink(), picture.getDeleteHash(), ImageStatus.READY, null, 1, null, null, null, null, null, null);
+    }
+
+    // keys compare case-insensitively like the database collation the single-record lookups relied on
+    private static String naturalKey(String value){
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private void requireField(Object value, String fieldName, CatalogImportRecordDto record){
+        if (value == null || (value instanceof String text && text.isBlank())){
+            throw new IllegalArgumentException("Field '" + fieldName + "' is required for " + record.getType() + " records");
+        }
+    }
+
+    private record NumberedRecord(long lineNumber, CatalogImportRecordDto record) {
+    }
+
+    private record PersonName(String name, String surname) {
+        private PersonName key(){
+            return new PersonName(naturalKey(name), naturalKey(surname));
+        }
+
+        private boolean isIncomplete(){
+            return name == null || surname == null;
+        }
+
+        private static Set<String> names(Set<PersonName> personNames){
+            return personNames.stream().map(PersonName::name).collect(Collectors.toSet());
+        }
+
+        private static Set<String> surnames(Set<PersonName> personNames){
+            return personNames.stream().map(PersonName::surname).collect(Collectors.toSet());
+        }
+    }
+
+    private static class CatalogKeys {
+        private final Map<PersonName, DirectorEntity> directors = new HashMap<>();
+        private final Map<PersonName, ActorEntity> actors = new HashMap<>();
+        private final Map<String, MovieEntity> movies = new HashMap<>();
+        private final Set<String> imageIds = new HashSet<>();
+    }
+
+    private static class ImportProgress {
+        private long totalRecords;
+        private long importedRecords;
+        private final List<CatalogImportErrorDto> errors = new ArrayList<>();
+    }
+}
@@ -1,39 +1,62 @@
 package com.api.MoviePedia.service.impl;
 
+import com.api.MoviePedia.enumeration.StreamFormat;
 import com.api.MoviePedia.exception.DuplicateDatabaseEntryException;
 import com.api.MoviePedia.model.director.DirectorCreationDto;
 import com.api.MoviePedia.model.director.DirectorRetrievalDto;
+import com.api.MoviePedia.model.image.SpooledImage;
 import com.api.MoviePedia.repository.DirectorRepository;
 import com.api.MoviePedia.repository.model.DirectorEntity;
 import com.api.MoviePedia.repository.model.ImgurImageEntity;
 import com.api.MoviePedia.repository.model.MovieEntity;
+import com.api.MoviePedia.repository.projection.VersionProjection;
 import com.api.MoviePedia.service.DirectorService;
-import com.api.MoviePedia.service.FileStorageService;
-import com.api.MoviePedia.util.ImageComparator;
+import com.api.MoviePedia.service.ImageUploadService;
+import com.api.MoviePedia.service.LeaderboardService;
+import com.api.MoviePedia.util.ETagUtils;
+import com.api.MoviePedia.util.JsonStreamWriter;
+import com.api.MoviePedia.util.jdbc.CursorFetch;
 import com.api.MoviePedia.util.mapper.DirectorMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.HashSet;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RequiredArgsConstructor
 @Service
 public class DirectorServiceImpl implements DirectorService {
     private final DirectorMapper directorMapper;
     private final DirectorRepository directorRepository;
-    private final FileStorageService fileStorageService;
+    private final JsonStreamWriter jsonStreamWriter;
+    private final CursorFetch cursorFetch;
+    private final ImageUploadService imageUploadService;
+    private final LeaderboardService leaderboardService;
 
     @Override
     public List<DirectorRetrievalDto> getAllDirectors() {
         return directorRepository.findAll().stream().map(directorEntity -> directorMapper.entityToRetrievalDto(directorEntity, directorEntity.getImgurImageEntity().getLink())).collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public void streamAllDirectors(StreamFormat streamFormat, OutputStream outputStream) throws IOException {
+        cursorFetch.enableForCurrentTransaction();
+        try (Stream<DirectorRetrievalDto> directors = directorRepository.streamAllRetrievalDtos()){
+            jsonStreamWriter.write(directors, streamFormat, outputStream);
+        }
+    }
+
     @Override
     public DirectorRetrievalDto getDirectorById(Long directorId) {
         Optional<DirectorEntity> optionalDirectorEntity = directorRepository.findById(directorId);
@@ -52,20 +75,45 @@ public class DirectorServiceImpl implements DirectorService {
         return optionalDirectorEntity.get();
     }
 
+    @Override
+    public String getDirectorETagById(Long directorId) {
+        VersionProjection versions = directorRepository.findVersionById(directorId)
+                .orElseThrow(() -> new NoSuchElementException("Director with id: " + directorId + " does not exist"));
+        return ETagUtils.strongETag("director", versions.getVersion(), versions.getImageStatus());
+    }
+
     @Override
     public DirectorRetrievalDto createDirector(DirectorCreationDto directorCreationDto) throws IOException {
+        return createDirector(directorCreationDto, new ByteArrayResource(directorCreationDto.getPicture()));
+    }
+
+    @Override
+    public DirectorRetrievalDto createDirector(DirectorCreationDto directorCreationDto, InputStreamSource picture) throws IOException {
+        return imageUploadService.withSpooledImage(picture, spooledImage -> createDirector(directorCreationDto, spooledImage));
+    }
+
+    private DirectorRetrievalDto createDirector(DirectorCreationDto directorCreationDto, SpooledImage spooledImage) {
         Optional<DirectorEntity> optionalDirectorEntity = directorRepository.findByNameAndSurname(directorCreationDto.getName(), directorCreationDto.getSurname());
         if (optionalDirectorEntity.isPresent()){
             throw new DuplicateDatabaseEntryException("Director with name: " + directorCreationDto.getName() + " and surname: " + directorCreationDto.getSurname() + " already exists");
         }
-        ImgurImageEntity imgurImageEntity = fileStorageService.saveFile(directorCreationDto.getPicture());
-        DirectorEntity directorEntity = directorMapper.creationDtoToEntity(directorCreationDto, null, imgurImageEntity, new HashSet<>());
+        ImgurImageEntity imgurImageEntity = imageUploadService.acquireImage(spooledImage);
+        DirectorEntity directorEntity = directorMapper.creationDtoToEntity(directorCreationDto, null, null, imgurImageEntity, new HashSet<>());
         directorEntity = directorRepository.save(directorEntity);
         return directorMapper.entityToRetrievalDto(directorEntity, directorEntity.getImgurImageEntity().getLink());
     }
 
     @Override
     public DirectorRetrievalDto editDirectorById(Long directorId, DirectorCreationDto directorCreationDto) throws IOException {
+        return editDirectorById(directorId, directorCreationDto, new ByteArrayResource(directorCreationDto.getPicture()));
+    }
+
+    @Override
+    public DirectorRetrievalDto editDirectorById(Long directorId, DirectorCreationDto directorCreationDto, InputStreamSource picture) throws IOException {
+        return imageUploadService.withSpooledImage(picture, spooledImage -> editDirectorById(directorId, directorCreationDto, spooledImage));
+    }
+
+    private DirectorRetrievalDto editDirectorById(Long directorId, DirectorCreationDto directorCreationDto, SpooledImage spooledImage) {
         Optional<DirectorEntity> optionalDirectorEntityById = directorRepository.findById(directorId);
         if (optionalDirectorEntityById.isEmpty()){
             throw new NoSuchElementException("Director with id: " + directorId + " does not exist");
@@ -76,17 +124,15 @@ public class DirectorServiceImpl implements DirectorService {
                         !optionalDirectorEntityById.get().getSurname().equals(optionalDirectorEntityByNameAndSurname.get().getSurname()))){
             throw new DuplicateDatabaseEntryException("Director with name: " + directorCreationDto.getName() + " and surname: " + directorCreationDto.getSurname() + " already exists");
         }
-        ImgurImageEntity imgurImageEntity = editDirectorPicture(directorCreationDto, optionalDirectorEntityById.get());
-        DirectorEntity directorEntity = directorMapper.creationDtoToEntity(directorCreationDto, directorId, imgurImageEntity, optionalDirectorEntityById.get().getMovies());
+        ImgurImageEntity previousImgurImageEntity = optionalDirectorEntityById.get().getImgurImageEntity();
+        ImgurImageEntity imgurImageEntity = imageUploadService.acquireImage(spooledImage);
+        DirectorEntity directorEntity = directorMapper.creationDtoToEntity(directorCreationDto, directorId, optionalDirectorEntityById.get().getVersion(), imgurImageEntity, optionalDirectorEntityById.get().getMovies());
         directorEntity = directorRepository.save(directorEntity);
+        imageUploadService.releaseImage(previousImgurImageEntity);
         return directorMapper.entityToRetrievalDto(directorEntity, directorEntity.getImgurImageEntity().getLink());
     }
 
-    private ImgurImageEntity editDirectorPicture(DirectorCreationDto newDirectorData, DirectorEntity oldDirectorData) throws IOException {
-       fileStorageService.deleteFileByHash(oldDirectorData.getImgurImageEntity().getId());
-       return fileStorageService.saveFile(newDirectorData.getPicture());
-    }
-
+    @Transactional
     @Override
     public void deleteDirectorById(Long directorId) {
         Optional<DirectorEntity> optionalDirectorEntity = directorRepository.findById(directorId);
@@ -94,10 +140,13 @@ public class DirectorServiceImpl implements DirectorService {
             throw new NoSuchElementException("Director with id: " + directorId + " does not exist");
         }
         DirectorEntity directorEntity = optionalDirectorEntity.get();
-        fileStorageService.deleteFileByHash(directorEntity.getImgurImageEntity().getId());
+        directorRepository.deleteById(directorId);
+        imageUploadService.releaseImage(directorEntity.getImgurImageEntity());
         for (MovieEntity movie : directorEntity.getMovies()) {
-            fileStorageService.deleteFileByHash(movie.getImgurImageEntity().getId());
+            imageUploadService.releaseImage(movie.getImgurImageEntity());
+        }
+        for (MovieEntity movie : directorEntity.getMovies()) {
+            leaderboardService.removeMovie(movie.getId());
         }
-        directorRepository.deleteById(directorId);
     }
 }
@@ -0,0 +1,107 @@
+package com.api.MoviePedia.service.impl;
+
+import com.api.MoviePedia.enumeration.ExportFormat;
+import com.api.MoviePedia.enumeration.StreamFormat;
+import com.api.MoviePedia.model.export.MovieExportDto;
+import com.api.MoviePedia.model.export.RatingExportDto;
+import com.api.MoviePedia.model.export.ReviewExportDto;
+import com.api.MoviePedia.repository.MovieRepository;
+import com.api.MoviePedia.repository.RatingRepository;
+import com.api.MoviePedia.repository.ReviewRepository;
+import com.api.MoviePedia.repository.projection.MovieExportRowProjection;
+import com.api.MoviePedia.service.ExportService;
+import com.api.MoviePedia.util.CsvStreamWriter;
+import com.api.MoviePedia.util.JsonStreamWriter;
+import com.api.MoviePedia.util.jdbc.CursorFetch;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+@RequiredArgsConstructor
+@Service
+public class ExportServiceImpl implements ExportService {
+    private final MovieRepository movieRepository;
+    private final RatingRepository ratingRepository;
+    private final ReviewRepository reviewRepository;
+    private final JsonStreamWriter jsonStreamWriter;
+    private final CsvStreamWriter csvStreamWriter;
+    private final CursorFetch cursorFetch;
+
+    @Transactional(readOnly = true)
+    @Override
+    public void exportMovies(LocalDateTime updatedSince, ExportFormat exportFormat, OutputStream outputStream) throws IOException {
+        cursorFetch.enableForCurrentTransaction();
+        try (Stream<MovieExportRowProjection> movieRows = movieRepository.streamExportRows(updatedSince)){
+            write(groupMovieRows(movieRows), MovieExportDto.class, exportFormat, outputStream);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void exportRatings(LocalDateTime updatedSince, ExportFormat exportFormat, OutputStream outputStream) throws IOException {
+        cursorFetch.enableForCurrentTransaction();
+        try (Stream<RatingExportDto> ratings = ratingRepository.streamExportDtos(updatedSince)){
+            write(ratings, RatingExportDto.class, exportFormat, outputStream);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void exportReviews(LocalDateTime updatedSince, ExportFormat exportFormat, OutputStream outputStream) throws IOException {
+        cursorFetch.enableForCurrentTransaction();
+        try (Stream<ReviewExportDto> reviews = reviewRepository.streamExportDtos(updatedSince)){
+            write(reviews, ReviewExportDto.class, exportFormat, outputStream);
+        }
+    }
+
+    private <T> void write(Stream<T> rows, Class<T> rowType, ExportFormat exportFormat, OutputStream outputStream) throws IOException {
+        if (exportFormat == ExportFormat.CSV){
+            csvStreamWriter.write(rows, rowType, outputStream);
+        } else {
+            jsonStreamWriter.write(rows, StreamFormat.NDJSON, outputStream);
+        }
+    }
+
+    private Stream<MovieExportDto> groupMovieRows(Stream<MovieExportRowProjection> movieRows){
+        Iterator<MovieExportRowProjection> rowIterator = movieRows.iterator();
+        Iterator<MovieExportDto> movieIterator = new Iterator<>() {
+            private MovieExportRowProjection pendingRow = rowIterator.hasNext() ? rowIterator.next() : null;
+
+            @Override
+            public boolean hasNext() {
+                return pendingRow != null;
+            }
+
+            @Override
+            public MovieExportDto next() {
+                if (pendingRow == null){
+                    throw new NoSuchElementException();
+                }
+                MovieExportRowProjection movieRow = pendingRow;
+                MovieExportDto movieExportDto = new MovieExportDto(movieRow.getId(), movieRow.getTitle(), movieRow.getYear(), movieRow.getGenre(),
+                        movieRow.getRating(), movieRow.getTotalRating(), movieRow.getTotalVotes(), movieRow.getDirectorId(),
+                        movieRow.getDirectorName(), movieRow.getDirectorSurname(), new ArrayList<>(), new ArrayList<>(), movieRow.getUpdatedAt());
+                while (pendingRow != null && pendingRow.getId().equals(movieRow.getId())){
+                    if (pendingRow.getActorId() != null){
+                        movieExportDto.getActorIds().add(pendingRow.getActorId());
+                        movieExportDto.getActorNames().add(pendingRow.getActorName() + " " + pendingRow.getActorSurname());
+                    }
+                    pendingRow = rowIterator.hasNext() ? rowIterator.next() : null;
+                }
+                return movieExportDto;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(movieIterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+}
@@ -1,11 +1,12 @@
 package com.api.MoviePedia.service.impl;
 
-import com.api.MoviePedia.external.ImgurApiConnection;
 import com.api.MoviePedia.repository.model.ImgurImageEntity;
 import com.api.MoviePedia.service.FileStorageService;
+import com.api.MoviePedia.service.ImageStorageService;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.io.FileUtils;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -26,23 +27,11 @@ public class FileStorageServiceImpl implements FileStorageService {
     @Value("${file.upload-dir}")
     private String fileUploadDirectory;
 
-    private final ImgurApiConnection imgurApiConnection;
-
-
-//    @Override
-//    public String saveFile(byte[] fileContents, String fileName, String fileExtension) throws IOException {
-//        Files.createDirectories(Paths.get(fileUploadDirectory));
-//        fileName = fileName + "." + fileExtension.replaceAll("\\.", "");
-//        Path imageFilePath = Paths.get(fileUploadDirectory, fileName);
-//        OutputStream outputStream = Files.newOutputStream(imageFilePath);
-//        outputStream.write(fileContents);
-//        outputStream.close();
-//        return imageFilePath.toAbsolutePath().toString();
-//    }
+    private final ImageStorageService imageStorageService;
 
     @Override
-    public ImgurImageEntity saveFile(byte[] fileContents) throws IOException {
-        return imgurApiConnection.saveImageToImgur(fileContents);
+    public ImgurImageEntity saveFile(Resource file) throws IOException {
+        return imageStorageService.storeImage(file);
     }
 
     @Override
@@ -92,6 +81,6 @@ public class FileStorageServiceImpl implements FileStorageService {
 
     @Override
     public void deleteFileByHash(String deleteHash) {
-        imgurApiConnection.deleteImageByHash(deleteHash);
+        imageStorageService.deleteImage(deleteHash);
     }
 }
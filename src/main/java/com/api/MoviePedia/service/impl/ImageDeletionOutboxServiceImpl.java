@@ -0,0 +1,110 @@
+package com.api.MoviePedia.service.impl;
+
+import com.api.MoviePedia.repository.ImageDeletionRepository;
+import com.api.MoviePedia.repository.model.ImageDeletionEntity;
+import com.api.MoviePedia.service.FileStorageService;
+import com.api.MoviePedia.service.ImageDeletionOutboxService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class ImageDeletionOutboxServiceImpl implements ImageDeletionOutboxService {
+    @Value("${image.deletion.batch-size}")
+    private Integer batchSize;
+
+    @Value("${image.deletion.lease-ms}")
+    private Long leaseMs;
+
+    @Value("${image.deletion.initial-backoff-ms}")
+    private Long initialBackoffMs;
+
+    @Value("${image.deletion.max-backoff-ms}")
+    private Long maxBackoffMs;
+
+    private final ImageDeletionRepository imageDeletionRepository;
+    private final FileStorageService fileStorageService;
+    private final PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void initializeTransactionTemplate(){
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Transactional
+    @Override
+    public void enqueueDeletions(Collection<String> deleteHashes) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ImageDeletionEntity> imageDeletions = deleteHashes.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .map(deleteHash -> new ImageDeletionEntity(null, deleteHash, 0, now, null, null))
+                .toList();
+        imageDeletionRepository.saveAll(imageDeletions);
+    }
+
+    @Scheduled(fixedDelayString = "${image.deletion.poll-interval-ms}")
+    @Override
+    public void drainOutbox() {
+        List<ImageDeletionEntity> claimedDeletions;
+        do {
+            claimedDeletions = claimDueDeletions();
+            if (claimedDeletions.isEmpty()){
+                return;
+            }
+            List<Long> completedDeletionIds = new ArrayList<>(claimedDeletions.size());
+            List<ImageDeletionEntity> failedDeletions = new ArrayList<>();
+            for (ImageDeletionEntity imageDeletion : claimedDeletions) {
+                try {
+                    fileStorageService.deleteFileByHash(imageDeletion.getDeleteHash());
+                    completedDeletionIds.add(imageDeletion.getId());
+                } catch (RuntimeException exception){
+                    scheduleRetry(imageDeletion, exception);
+                    failedDeletions.add(imageDeletion);
+                }
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                imageDeletionRepository.deleteAllByIdInBatch(completedDeletionIds);
+                imageDeletionRepository.saveAll(failedDeletions);
+            });
+        } while (claimedDeletions.size() == batchSize);
+    }
+
+    private List<ImageDeletionEntity> claimDueDeletions(){
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<ImageDeletionEntity> dueDeletions = imageDeletionRepository.findDueForUpdate(now, PageRequest.of(0, batchSize));
+            dueDeletions.forEach(imageDeletion -> imageDeletion.setNextAttemptAt(now.plus(Duration.ofMillis(leaseMs))));
+            return dueDeletions;
+        });
+    }
+
+    private void scheduleRetry(ImageDeletionEntity imageDeletion, RuntimeException exception){
+        int attempts = imageDeletion.getAttempts() + 1;
+        long backoffMs = Math.min(initialBackoffMs << Math.min(attempts - 1, 20), maxBackoffMs);
+        String lastError = String.valueOf(exception.getMessage());
+        imageDeletion.setAttempts(attempts);
+        imageDeletion.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(backoffMs)));
+        imageDeletion.setLastError(lastError.length() > ImageDeletionEntity.LAST_ERROR_LENGTH
+                ? lastError.substring(0, ImageDeletionEntity.LAST_ERROR_LENGTH) : lastError);
+        log.warn("Deleting image {} failed on attempt {}, retrying in {} ms", imageDeletion.getDeleteHash(), attempts, backoffMs, exception);
+    }
+}
@@ -0,0 +1,156 @@
+package com.api.MoviePedia.service.impl;
+
+import com.api.MoviePedia.enumeration.ImageRendition;
+import com.api.MoviePedia.service.ImageRenditionService;
+import com.api.MoviePedia.util.ThreadFactories;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class ImageRenditionServiceImpl implements ImageRenditionService {
+    @Value("${image.rendition.pool-size}")
+    private Integer poolSize;
+
+    @Value("${image.rendition.queue-capacity}")
+    private Integer queueCapacity;
+
+    @Value("${image.rendition.max-pixels}")
+    private Long maxPixels;
+
+    private ThreadPoolExecutor renditionExecutor;
+
+    @PostConstruct
+    public void initializeRenditionExecutor(){
+        renditionExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                ThreadFactories.platformDaemon("image-rendition-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdownRenditionExecutor(){
+        renditionExecutor.shutdown();
+    }
+
+    @Override
+    public Map<ImageRendition, Resource> generateRenditions(Path imageFile) {
+        DecodedImage decodedImage = decode(imageFile);
+        Map<ImageRendition, Resource> renditions = new EnumMap<>(ImageRendition.class);
+        if (decodedImage == null){
+            renditions.put(ImageRendition.FULL, new FileSystemResource(imageFile));
+            return renditions;
+        }
+        BufferedImage sourceImage = decodedImage.image();
+        Map<ImageRendition, CompletableFuture<Resource>> renditionFutures = new EnumMap<>(ImageRendition.class);
+        for (ImageRendition rendition : ImageRendition.values()) {
+            if (decodedImage.fitsWithin(rendition)){
+                continue;
+            }
+            renditionFutures.put(rendition, CompletableFuture.supplyAsync(() -> encode(resize(sourceImage, rendition), sourceImage.getColorModel().hasAlpha()), renditionExecutor));
+        }
+        CompletableFuture.allOf(renditionFutures.values().toArray(CompletableFuture[]::new)).join();
+        renditionFutures.forEach((rendition, renditionFuture) -> renditions.put(rendition, renditionFuture.join()));
+        renditions.putIfAbsent(ImageRendition.FULL, new FileSystemResource(imageFile));
+        return renditions;
+    }
+
+    /**
+     * Reads the dimensions from the image header before decoding and subsamples pictures above {@code image.rendition.max-pixels},
+     * so a small file claiming huge dimensions can not allocate a raster that exhausts the heap.
+     */
+    private DecodedImage decode(Path imageFile){
+        try (ImageInputStream imageInputStream = ImageIO.createImageInputStream(imageFile.toFile())){
+            Iterator<ImageReader> imageReaders = imageInputStream == null ? Collections.emptyIterator() : ImageIO.getImageReaders(imageInputStream);
+            if (!imageReaders.hasNext()){
+                return null;
+            }
+            ImageReader imageReader = imageReaders.next();
+            try {
+                imageReader.setInput(imageInputStream, true, true);
+                int width = imageReader.getWidth(0);
+                int height = imageReader.getHeight(0);
+                ImageReadParam readParam = imageReader.getDefaultReadParam();
+                int subsampling = subsamplingFor(width, height);
+                if (subsampling > 1){
+                    readParam.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                }
+                return new DecodedImage(imageReader.read(0, readParam), width, height);
+            } finally {
+                imageReader.dispose();
+            }
+        } catch (IOException exception){
+            return null;
+        }
+    }
+
+    private int subsamplingFor(int width, int height){
+        int subsampling = 1;
+        while ((long) ((width + subsampling - 1) / subsampling) * ((height + subsampling - 1) / subsampling) > maxPixels){
+            subsampling++;
+        }
+        return subsampling;
+    }
+
+    private BufferedImage resize(BufferedImage originalImage, ImageRendition rendition){
+        double scale = Math.min(1.0, Math.min((double) rendition.getMaxWidth() / originalImage.getWidth(), (double) rendition.getMaxHeight() / originalImage.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(originalImage.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(originalImage.getHeight() * scale));
+        int imageType = originalImage.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage resizedImage = originalImage;
+        int width = originalImage.getWidth();
+        int height = originalImage.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage stepImage = new BufferedImage(width, height, imageType);
+            Graphics2D graphics = stepImage.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(resizedImage, 0, 0, width, height, null);
+            graphics.dispose();
+            resizedImage = stepImage;
+        } while (width != targetWidth || height != targetHeight);
+        return resizedImage;
+    }
+
+    private Resource encode(BufferedImage image, boolean hasAlpha){
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, hasAlpha ? "png" : "jpg", outputStream);
+        } catch (IOException exception){
+            throw new UncheckedIOException("Could not encode image rendition", exception);
+        }
+        return new ByteArrayResource(outputStream.toByteArray());
+    }
+
+    private record DecodedImage(BufferedImage image, int originalWidth, int originalHeight) {
+        private boolean fitsWithin(ImageRendition rendition){
+            return originalWidth <= rendition.getMaxWidth() && originalHeight <= rendition.getMaxHeight();
+        }
+    }
+}
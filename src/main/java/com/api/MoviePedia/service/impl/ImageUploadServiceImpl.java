@@ -0,0 +1,326 @@
+package com.api.MoviePedia.service.impl;
+
+import com.api.MoviePedia.enumeration.ImageRendition;
+import com.api.MoviePedia.enumeration.ImageStatus;
+import com.api.MoviePedia.model.image.SpooledImage;
+import com.api.MoviePedia.repository.ImgurImageRepository;
+import com.api.MoviePedia.repository.model.ImgurImageEntity;
+import com.api.MoviePedia.service.FileStorageService;
+import com.api.MoviePedia.service.ImageDeletionOutboxService;
+import com.api.MoviePedia.service.ImageRenditionService;
+import com.api.MoviePedia.service.ImageUploadService;
+import com.api.MoviePedia.util.ContentHashes;
+import com.api.MoviePedia.util.ThreadFactories;
+import com.api.MoviePedia.util.TransactionCallbacks;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class ImageUploadServiceImpl implements ImageUploadService {
+    // a conflict is only reported once the winning insert has committed, so the second attempt already reuses its row
+    private static final int CONTENT_HASH_CLAIM_ATTEMPTS = 3;
+
+    @Value("${image.upload.pool-size}")
+    private Integer poolSize;
+
+    @Value("${image.upload.queue-capacity}")
+    private Integer queueCapacity;
+
+    @Value("${image.upload.max-attempts}")
+    private Integer maxAttempts;
+
+    @Value("${image.upload.initial-backoff-ms}")
+    private Long initialBackoffMs;
+
+    @Value("${image.upload.max-size}")
+    private DataSize maxImageSize;
+
+    @Value("${image.upload.spool-directory}")
+    private String spoolDirectory;
+
+    @Value("${execution.virtual-threads.enabled}")
+    private Boolean virtualThreadsEnabled;
+
+    private final FileStorageService fileStorageService;
+    private final ImageDeletionOutboxService imageDeletionOutboxService;
+    private final ImageRenditionService imageRenditionService;
+    private final ImgurImageRepository imgurImageRepository;
+    private final TaskScheduler taskScheduler;
+    private final PlatformTransactionManager transactionManager;
+
+    private ThreadPoolExecutor uploadExecutor;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void initializeUploadExecutor(){
+        uploadExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                ThreadFactories.of("image-upload-", virtualThreadsEnabled));
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        // the worker also writes from afterCommit callbacks, where a joined transaction would silently drop the write
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PreDestroy
+    public void shutdownUploadExecutor(){
+        uploadExecutor.shutdown();
+    }
+
+    @Override
+    public <T> T withSpooledImage(InputStreamSource imageSource, Function<SpooledImage, T> unitOfWork) throws IOException {
+        SpooledImage spooledImage = imageSource == null ? null : spool(imageSource);
+        boolean committed = false;
+        try {
+            for (int attempt = 1; ; attempt++){
+                try {
+                    T result = transactionTemplate.execute(status -> unitOfWork.apply(spooledImage));
+                    committed = true;
+                    return result;
+                } catch (DataIntegrityViolationException exception){
+                    if (spooledImage == null || attempt >= CONTENT_HASH_CLAIM_ATTEMPTS){
+                        throw exception;
+                    }
+                    log.debug("Content hash {} was claimed concurrently, retrying attempt {}", spooledImage.contentHash(), attempt + 1);
+                }
+            }
+        } finally {
+            if (!committed && spooledImage != null){
+                deleteSpooledImage(spooledImage.imageFile());
+            }
+        }
+    }
+
+    @Override
+    public ImgurImageEntity acquireImage(SpooledImage spooledImage) {
+        Optional<ImgurImageEntity> optionalStoredImage = findReusableImage(spooledImage.contentHash());
+        if (optionalStoredImage.isPresent()){
+            ImgurImageEntity storedImage = optionalStoredImage.get();
+            storedImage.setReferenceCount(storedImage.getReferenceCount() + 1);
+            TransactionCallbacks.afterCommit(() -> deleteSpooledImage(spooledImage.imageFile()));
+            return storedImage;
+        }
+        // the unique content hash makes a concurrent first upload of the same picture fail here instead of storing it twice
+        ImgurImageEntity pendingImage = imgurImageRepository.saveAndFlush(new ImgurImageEntity(UUID.randomUUID().toString(), null, null,
+                ImageStatus.PENDING, spooledImage.contentHash(), 1, null, null, null, null, spooledImage.imageFile().toString(), 0));
+        TransactionCallbacks.afterCommit(() -> submit(new ImageTask(pendingImage.getId(), spooledImage.imageFile(), 1)));
+        return pendingImage;
+    }
+
+    /**
+     * Looks the hash up with a plain read and only then locks the row by primary key. A locking read on the hash index
+     * also takes gap locks, which deadlocked concurrent first uploads of different pictures.
+     */
+    private Optional<ImgurImageEntity> findReusableImage(String contentHash){
+        Optional<ImgurImageEntity> optionalStoredImage = imgurImageRepository.findByContentHash(contentHash)
+                .flatMap(storedImage -> imgurImageRepository.findByIdForUpdate(storedImage.getId()))
+                .filter(storedImage -> contentHash.equals(storedImage.getContentHash()));
+        if (optionalStoredImage.isPresent() && optionalStoredImage.get().getStatus() == ImageStatus.FAILED){
+            optionalStoredImage.get().setContentHash(null);
+            imgurImageRepository.flush();
+            return Optional.empty();
+        }
+        return optionalStoredImage;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingUploads(){
+        for (ImgurImageEntity pendingImage : imgurImageRepository.findAllByStatus(ImageStatus.PENDING)) {
+            int completedAttempts = pendingImage.getUploadAttempts() == null ? 0 : pendingImage.getUploadAttempts();
+            Path imageFile = pendingImage.getSpoolPath() == null ? null : Paths.get(pendingImage.getSpoolPath());
+            if (imageFile == null || !Files.exists(imageFile) || completedAttempts >= maxAttempts){
+                log.error("Image {} was left pending by a previous run and can not be resumed", pendingImage.getId());
+                if (imageFile != null){
+                    deleteSpooledImage(imageFile);
+                }
+                markUploadFailed(pendingImage.getId());
+                continue;
+            }
+            log.info("Resuming upload of image {} after {} attempts", pendingImage.getId(), completedAttempts);
+            submit(new ImageTask(pendingImage.getId(), imageFile, completedAttempts + 1));
+        }
+    }
+
+    @Transactional
+    @Override
+    public void releaseImage(ImgurImageEntity imgurImageEntity) {
+        if (imgurImageEntity == null || imgurImageEntity.getId() == null){
+            return;
+        }
+        Optional<ImgurImageEntity> optionalStoredImage = imgurImageRepository.findByIdForUpdate(imgurImageEntity.getId());
+        if (optionalStoredImage.isEmpty()){
+            return;
+        }
+        ImgurImageEntity storedImage = optionalStoredImage.get();
+        if (storedImage.getReferenceCount() > 1){
+            storedImage.setReferenceCount(storedImage.getReferenceCount() - 1);
+            return;
+        }
+        imgurImageRepository.delete(storedImage);
+        imageDeletionOutboxService.enqueueDeletions(Arrays.asList(storedImage.getDeleteHash(), storedImage.getThumbnailDeleteHash(), storedImage.getCardDeleteHash()));
+    }
+
+    private SpooledImage spool(InputStreamSource imageSource) throws IOException {
+        Path spoolDirectoryPath = Paths.get(spoolDirectory);
+        Files.createDirectories(spoolDirectoryPath);
+        Path imageFile = Files.createTempFile(spoolDirectoryPath, "image-", ".upload");
+        String contentHash;
+        try (OutputStream outputStream = Files.newOutputStream(imageFile)){
+            contentHash = ContentHashes.copyAndHash(imageSource.getInputStream(), outputStream, maxImageSize.toBytes());
+        } catch (IOException | RuntimeException exception){
+            Files.deleteIfExists(imageFile);
+            throw exception;
+        }
+        return new SpooledImage(imageFile, contentHash);
+    }
+
+    private void deleteSpooledImage(Path imageFile){
+        try {
+            Files.deleteIfExists(imageFile);
+        } catch (IOException exception){
+            log.warn("Could not delete spooled image {}", imageFile, exception);
+        }
+    }
+
+    private void submit(ImageTask imageTask){
+        try {
+            uploadExecutor.execute(() -> upload(imageTask));
+        } catch (RejectedExecutionException exception){
+            retryOrGiveUp(imageTask, exception);
+        }
+    }
+
+    private void upload(ImageTask imageTask){
+        try {
+            attachRenditions(imageTask);
+        } catch (Throwable throwable){
+            // an error such as OutOfMemoryError would recur on every retry and on every restart that resumes the pending row
+            if (NestedExceptionUtils.getMostSpecificCause(throwable) instanceof Error){
+                giveUp(imageTask, throwable);
+            } else {
+                retryOrGiveUp(imageTask, throwable);
+            }
+        }
+    }
+
+    private void attachRenditions(ImageTask imageTask){
+        Map<ImageRendition, ImgurImageEntity> storedRenditions = storeRenditions(imageRenditionService.generateRenditions(imageTask.imageFile()));
+        Boolean imageAttached = transactionTemplate.execute(status -> imgurImageRepository.findById(imageTask.imageId())
+                .map(pendingImage -> {
+                    ImgurImageEntity fullImage = storedRenditions.get(ImageRendition.FULL);
+                    pendingImage.setLink(fullImage.getLink());
+                    pendingImage.setDeleteHash(fullImage.getDeleteHash());
+                    Optional.ofNullable(storedRenditions.get(ImageRendition.THUMBNAIL)).ifPresent(thumbnailImage -> {
+                        pendingImage.setThumbnailLink(thumbnailImage.getLink());
+                        pendingImage.setThumbnailDeleteHash(thumbnailImage.getDeleteHash());
+                    });
+                    Optional.ofNullable(storedRenditions.get(ImageRendition.CARD)).ifPresent(cardImage -> {
+                        pendingImage.setCardLink(cardImage.getLink());
+                        pendingImage.setCardDeleteHash(cardImage.getDeleteHash());
+                    });
+                    pendingImage.setStatus(ImageStatus.READY);
+                    pendingImage.setSpoolPath(null);
+                    pendingImage.setUploadAttempts(imageTask.attempt());
+                    return true;
+                })
+                .orElse(false));
+        deleteSpooledImage(imageTask.imageFile());
+        if (!Boolean.TRUE.equals(imageAttached)){
+            deleteStoredRenditions(storedRenditions);
+        }
+    }
+
+    private Map<ImageRendition, ImgurImageEntity> storeRenditions(Map<ImageRendition, Resource> renditions){
+        Map<ImageRendition, ImgurImageEntity> storedRenditions = new EnumMap<>(ImageRendition.class);
+        try {
+            for (Map.Entry<ImageRendition, Resource> rendition : renditions.entrySet()) {
+                storedRenditions.put(rendition.getKey(), fileStorageService.saveFile(rendition.getValue()));
+            }
+        } catch (IOException exception){
+            deleteStoredRenditions(storedRenditions);
+            throw new UncheckedIOException(exception);
+        } catch (RuntimeException exception){
+            deleteStoredRenditions(storedRenditions);
+            throw exception;
+        }
+        return storedRenditions;
+    }
+
+    private void deleteStoredRenditions(Map<ImageRendition, ImgurImageEntity> storedRenditions){
+        imageDeletionOutboxService.enqueueDeletions(storedRenditions.values().stream().map(ImgurImageEntity::getDeleteHash).toList());
+    }
+
+    private void retryOrGiveUp(ImageTask imageTask, Throwable exception){
+        if (imageTask.attempt() >= maxAttempts){
+            giveUp(imageTask, exception);
+            return;
+        }
+        long backoffMs = initialBackoffMs << (imageTask.attempt() - 1);
+        log.warn("Image {} attempt {} failed, retrying in {} ms", imageTask.imageId(), imageTask.attempt(), backoffMs);
+        recordUploadAttempts(imageTask);
+        ImageTask nextAttempt = new ImageTask(imageTask.imageId(), imageTask.imageFile(), imageTask.attempt() + 1);
+        taskScheduler.schedule(() -> submit(nextAttempt), Instant.now().plusMillis(backoffMs));
+    }
+
+    private void giveUp(ImageTask imageTask, Throwable exception){
+        log.error("Giving up on image {} after {} attempts", imageTask.imageId(), imageTask.attempt(), exception);
+        deleteSpooledImage(imageTask.imageFile());
+        markUploadFailed(imageTask.imageId());
+    }
+
+    private void recordUploadAttempts(ImageTask imageTask){
+        try {
+            transactionTemplate.executeWithoutResult(status -> imgurImageRepository.findById(imageTask.imageId())
+                    .ifPresent(pendingImage -> pendingImage.setUploadAttempts(imageTask.attempt())));
+        } catch (RuntimeException exception){
+            log.warn("Could not record upload attempt {} of image {}", imageTask.attempt(), imageTask.imageId(), exception);
+        }
+    }
+
+    private void markUploadFailed(String imageId){
+        transactionTemplate.executeWithoutResult(status -> imgurImageRepository.findById(imageId)
+                .ifPresent(pendingImage -> {
+                    pendingImage.setStatus(ImageStatus.FAILED);
+                    // frees the hash so the next upload of the same picture starts over instead of reusing the failed row
+                    pendingImage.setContentHash(null);
+                    pendingImage.setSpoolPath(null);
+                }));
+    }
+
+    private record ImageTask(String imageId, Path imageFile, int attempt) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.api.MoviePedia.service.impl;
+
+import com.api.MoviePedia.external.ImgurApiConnection;
+import com.api.MoviePedia.repository.model.ImgurImageEntity;
+import com.api.MoviePedia.service.ImageStorageService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "image.storage.backend", havingValue = "imgur", matchIfMissing = true)
+@Service
+public class ImgurImageStorageServiceImpl implements ImageStorageService {
+    private final ImgurApiConnection imgurApiConnection;
+
+    @Override
+    public ImgurImageEntity storeImage(Resource image) {
+        return imgurApiConnection.saveImageToImgur(image);
+    }
+
+    @Override
+    public void deleteImage(String deleteHash) {
+        try {
+            imgurApiConnection.deleteImageByHash(deleteHash);
+        } catch (HttpClientErrorException.NotFound exception){
+            return;
+        }
+    }
+}
@@ -7,25 +7,53 @@ import com.api.MoviePedia.repository.UserRepository;
 import com.api.MoviePedia.repository.model.RefreshTokenEntity;
 import com.api.MoviePedia.repository.model.UserEntity;
 import com.api.MoviePedia.service.JWTService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.crypto.Mac;
 import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.UUID;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
+@Timed(value = "jwt.service", histogram = true)
 @RequiredArgsConstructor
 @Service
 public class JWTServiceImpl implements JWTService {
+    private static final String REFRESH_TOKEN_MAC_ALGORITHM = "HmacSHA256";
+    private static final int MAX_REFRESH_TOKEN_LENGTH = 256;
+    private static final int MIN_REFRESH_TOKEN_KEY_LENGTH = 32;
+    // random UUIDs issued before refresh tokens were signed, honoured until their stored expiration date passes
+    private static final Pattern LEGACY_REFRESH_TOKEN = Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+
     @Value("${jwt.access-token.expiration-time-ms}")
     private Integer accessTokenExpirationTime;
 
@@ -35,35 +63,137 @@ public class JWTServiceImpl implements JWTService {
     @Value("${jwt.secret.key}")
     private String secretKey;
 
+    @Value("${jwt.refresh-token.secret.key}")
+    private String refreshTokenSecretKey;
+
+    @Value("${jwt.verified-token-cache.maximum-size}")
+    private Long verifiedTokenCacheMaximumSize;
+
+    @Value("${jwt.refresh-token.cache.maximum-size}")
+    private Long refreshTokenCacheMaximumSize;
+
+    @Value("${jwt.refresh-token.cache.expire-after-write-ms}")
+    private Long refreshTokenCacheExpireAfterWriteMs;
+
+    @Value("${jwt.refresh-token.purge-batch-size}")
+    private Integer refreshTokenPurgeBatchSize;
+
     private final RefreshTokenRepository refreshTokenRepository;
     private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    private SecretKey signingKey;
+    private SecretKeySpec refreshTokenSigningKey;
+    private JwtParser jwtParser;
+    private Cache<String, VerifiedToken> verifiedTokens;
+    private Cache<String, ActiveRefreshToken> activeRefreshTokens;
+
+    @PostConstruct
+    public void initializeTokenVerification(){
+        signingKey = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        if (refreshTokenSecretKey.getBytes(StandardCharsets.UTF_8).length < MIN_REFRESH_TOKEN_KEY_LENGTH){
+            throw new IllegalStateException("jwt.refresh-token.secret.key must be at least " + MIN_REFRESH_TOKEN_KEY_LENGTH + " bytes long");
+        }
+        if (refreshTokenSecretKey.equals(secretKey)){
+            throw new IllegalStateException("jwt.refresh-token.secret.key must differ from jwt.secret.key");
+        }
+        refreshTokenSigningKey = new SecretKeySpec(refreshTokenSecretKey.getBytes(StandardCharsets.UTF_8), REFRESH_TOKEN_MAC_ALGORITHM);
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedTokenCacheMaximumSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String tokenDigest, VerifiedToken verifiedToken, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(verifiedToken.expiresAtMs() - System.currentTimeMillis(), 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String tokenDigest, VerifiedToken verifiedToken, long currentTime, long currentDuration) {
+                        return expireAfterCreate(tokenDigest, verifiedToken, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String tokenDigest, VerifiedToken verifiedToken, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        activeRefreshTokens = Caffeine.newBuilder()
+                .maximumSize(refreshTokenCacheMaximumSize)
+                .expireAfterWrite(refreshTokenCacheExpireAfterWriteMs, TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified_tokens");
+        CaffeineCacheMetrics.monitor(meterRegistry, activeRefreshTokens, "jwt.active_refresh_tokens");
+    }
 
     @Override
     public String generateAccessToken(Long userId, String role) {
-        SecretKey key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
         return Jwts.builder()
                 .setIssuer("MoviePedia")
                 .setSubject(userId.toString())
                 .claim("role", role)
                 .setExpiration(new Date((new Date().getTime() + accessTokenExpirationTime)))
-                .signWith(key)
+                .signWith(signingKey)
                 .compact();
     }
 
     @Override
     public String createRefreshToken(UserEntity userEntity){
-        String token = UUID.randomUUID().toString();
-        Instant expirationDate = Instant.now();
-        expirationDate = expirationDate.plusMillis(refreshTokenExpirationTime);
+        Instant expirationDate = Instant.now().plusMillis(refreshTokenExpirationTime);
+        String token = signRefreshToken(userEntity.getId(), expirationDate);
         refreshTokenRepository.save(new RefreshTokenEntity(null, token, expirationDate, userEntity));
+        cacheRefreshToken(token, userEntity);
         return token;
     }
 
+    @Transactional
+    @Override
+    public String resolveRefreshToken(UserEntity userEntity, RefreshTokenEntity currentRefreshToken) {
+        if (currentRefreshToken == null){
+            return createRefreshToken(userEntity);
+        }
+        Instant now = Instant.now();
+        if (!isUsable(currentRefreshToken, now)){
+            activeRefreshTokens.invalidate(currentRefreshToken.getToken());
+            Instant expirationDate = now.plusMillis(refreshTokenExpirationTime);
+            currentRefreshToken.setToken(signRefreshToken(userEntity.getId(), expirationDate));
+            currentRefreshToken.setExpirationDate(expirationDate);
+            refreshTokenRepository.save(currentRefreshToken);
+        }
+        cacheRefreshToken(currentRefreshToken.getToken(), userEntity);
+        return currentRefreshToken.getToken();
+    }
+
+    @Override
+    public String refreshAccessToken(String refreshToken) {
+        Optional<SignedRefreshToken> signedRefreshToken = parseRefreshToken(refreshToken);
+        if (signedRefreshToken.isEmpty() && !isLegacyRefreshToken(refreshToken)){
+            throw new TokenRefreshException("Refresh token is invalid");
+        }
+        if (signedRefreshToken.isPresent() && signedRefreshToken.get().expirationDate().isBefore(Instant.now())){
+            activeRefreshTokens.invalidate(refreshToken);
+            throw new TokenRefreshException("Refresh token has expired, please log in again");
+        }
+        ActiveRefreshToken activeRefreshToken = activeRefreshTokens.getIfPresent(refreshToken);
+        if (activeRefreshToken == null){
+            RefreshTokenEntity refreshTokenEntity = findRefreshTokenByToken(refreshToken);
+            verifyRefreshTokenExpiration(refreshTokenEntity);
+            activeRefreshToken = cacheRefreshToken(refreshTokenEntity.getToken(), refreshTokenEntity.getUser());
+        }
+        return generateAccessToken(activeRefreshToken.userId(), activeRefreshToken.role());
+    }
+
     @Override
     public void deleteRefreshTokenByUserId(Long userId){
         UserEntity userEntity = userRepository.findById(userId).orElseThrow(() -> new NoSuchElementException("User with id: " + userId + " does not exist"));
         RefreshTokenEntity refreshTokenEntity = refreshTokenRepository.findByUserId(userId).orElseThrow(() -> new NoSuchElementException("User with id: " + userId + " is already logged out"));
         refreshTokenRepository.deleteById(refreshTokenEntity.getId());
+        activeRefreshTokens.invalidate(refreshTokenEntity.getToken());
     }
 
     @Override
@@ -71,6 +201,7 @@ public class JWTServiceImpl implements JWTService {
         try{
             RefreshTokenEntity refreshTokenEntity = findRefreshTokenByToken(refreshTokenRequest.getRefreshToken());
             refreshTokenRepository.deleteById(refreshTokenEntity.getId());
+            activeRefreshTokens.invalidate(refreshTokenEntity.getToken());
         } catch (Exception ex){
 
         }
@@ -78,38 +209,41 @@ public class JWTServiceImpl implements JWTService {
 
     @Override
     public Map<String, Object> validateToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        Map<String, Object> claimsMap = new HashMap<>();
-        claimsMap.put("id", extractUserIdFromToken(token));
-        claimsMap.put("role", extractRoleFromToken(token));
-        return claimsMap;
+        String tokenDigest = digest(token);
+        VerifiedToken verifiedToken = verifiedTokens.getIfPresent(tokenDigest);
+        if (verifiedToken == null || verifiedToken.expiresAtMs() <= System.currentTimeMillis()){
+            verifiedToken = verify(token);
+            verifiedTokens.put(tokenDigest, verifiedToken);
+        }
+        return verifiedToken.claims();
     }
 
     @Override
     public Long extractUserIdFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return Long.parseLong((String) claims.get("sub"));
+        return (Long) validateToken(token).get("id");
     }
 
     @Override
     public String extractRoleFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return (String) claims.get("role");
+        return (String) validateToken(token).get("role");
+    }
+
+    private VerifiedToken verify(String token){
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        Date expiration = claims.getExpiration();
+        String role = claims.get("role", String.class);
+        if (expiration == null || claims.getSubject() == null || role == null){
+            throw new IllegalStateException("Token is missing required claims");
+        }
+        return new VerifiedToken(Map.of("id", Long.parseLong(claims.getSubject()), "role", role), expiration.getTime());
+    }
+
+    private String digest(String token){
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException exception){
+            throw new IllegalStateException("SHA-256 digest is not available", exception);
+        }
     }
 
     @Override
@@ -126,12 +260,89 @@ public class JWTServiceImpl implements JWTService {
     }
 
     @Override
-    public Boolean checkIfRefreshTokenExistsByUserId(Long userId){
-        return refreshTokenRepository.findByUserId(userId).isPresent();
+    public void evictRefreshTokensByUserId(Long userId) {
+        activeRefreshTokens.asMap().values().removeIf(activeRefreshToken -> activeRefreshToken.userId().equals(userId));
     }
 
+    @Scheduled(fixedDelayString = "${jwt.refresh-token.purge-interval-ms}")
     @Override
-    public RefreshTokenEntity findRefreshTokenByUserId(Long id) {
-        return refreshTokenRepository.findByUserId(id).orElseThrow(() -> new NoSuchElementException("Refresh token with user id: " + id + " does not exist"));
+    public void purgeExpiredRefreshTokens() {
+        List<Long> expiredRefreshTokenIds;
+        do {
+            expiredRefreshTokenIds = refreshTokenRepository.findExpiredIds(Instant.now(), PageRequest.of(0, refreshTokenPurgeBatchSize));
+            if (!expiredRefreshTokenIds.isEmpty()){
+                refreshTokenRepository.deleteAllByIdInBatch(expiredRefreshTokenIds);
+            }
+        } while (expiredRefreshTokenIds.size() == refreshTokenPurgeBatchSize);
+    }
+
+    private String signRefreshToken(Long userId, Instant expirationDate){
+        byte[] nonce = new byte[16];
+        secureRandom.nextBytes(nonce);
+        String payload = userId + "." + expirationDate.toEpochMilli() + "." + HexFormat.of().formatHex(nonce);
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + "." + encoder.encodeToString(refreshTokenMac(payload));
+    }
+
+    private boolean isUsable(RefreshTokenEntity refreshTokenEntity, Instant now){
+        if (refreshTokenEntity.getExpirationDate().isBefore(now)){
+            return false;
+        }
+        return isLegacyRefreshToken(refreshTokenEntity.getToken()) || parseRefreshToken(refreshTokenEntity.getToken())
+                .map(signedRefreshToken -> !signedRefreshToken.expirationDate().isBefore(now))
+                .orElse(false);
+    }
+
+    private boolean isLegacyRefreshToken(String refreshToken){
+        return refreshToken != null && LEGACY_REFRESH_TOKEN.matcher(refreshToken).matches();
+    }
+
+    private Optional<SignedRefreshToken> parseRefreshToken(String refreshToken){
+        if (refreshToken == null || refreshToken.length() > MAX_REFRESH_TOKEN_LENGTH){
+            return Optional.empty();
+        }
+        int separatorIndex = refreshToken.indexOf('.');
+        if (separatorIndex <= 0 || separatorIndex != refreshToken.lastIndexOf('.')){
+            return Optional.empty();
+        }
+        try {
+            String payload = new String(Base64.getUrlDecoder().decode(refreshToken.substring(0, separatorIndex)), StandardCharsets.UTF_8);
+            byte[] signature = Base64.getUrlDecoder().decode(refreshToken.substring(separatorIndex + 1));
+            if (!MessageDigest.isEqual(signature, refreshTokenMac(payload))){
+                return Optional.empty();
+            }
+            String[] claims = payload.split("\\.");
+            if (claims.length != 3){
+                return Optional.empty();
+            }
+            return Optional.of(new SignedRefreshToken(Long.parseLong(claims[0]), Instant.ofEpochMilli(Long.parseLong(claims[1]))));
+        } catch (IllegalArgumentException exception){
+            return Optional.empty();
+        }
+    }
+
+    private byte[] refreshTokenMac(String payload){
+        try {
+            Mac mac = Mac.getInstance(REFRESH_TOKEN_MAC_ALGORITHM);
+            mac.init(refreshTokenSigningKey);
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException exception){
+            throw new IllegalStateException(REFRESH_TOKEN_MAC_ALGORITHM + " is not available", exception);
+        }
+    }
+
+    private ActiveRefreshToken cacheRefreshToken(String refreshToken, UserEntity userEntity){
+        ActiveRefreshToken activeRefreshToken = new ActiveRefreshToken(userEntity.getId(), userEntity.getRole().name());
+        activeRefreshTokens.put(refreshToken, activeRefreshToken);
+        return activeRefreshToken;
+    }
+
+    private record VerifiedToken(Map<String, Object> claims, long expiresAtMs) {
+    }
+
+    private record ActiveRefreshToken(Long userId, String role) {
+    }
+
+    private record SignedRefreshToken(Long userId, Instant expirationDate) {
     }
 }
@@ -0,0 +1,148 @@
+package com.api.MoviePedia.service.impl;
+
+import com.api.MoviePedia.enumeration.Genre;
+import com.api.MoviePedia.model.movie.MovieRetrievalDto;
+import com.api.MoviePedia.repository.MovieRepository;
+import com.api.MoviePedia.repository.model.MovieEntity;
+import com.api.MoviePedia.repository.projection.MovieRatingProjection;
+import com.api.MoviePedia.service.LeaderboardService;
+import com.api.MoviePedia.util.TransactionCallbacks;
+import com.api.MoviePedia.util.mapper.MovieMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+@Service
+public class LeaderboardServiceImpl implements LeaderboardService {
+    private static final long[] EMPTY_LEADERBOARD = new long[0];
+
+    @Value("${leaderboard.minimum-votes}")
+    private Integer minimumVotes;
+
+    private final MovieRepository movieRepository;
+    private final MovieMapper movieMapper;
+
+    private final Map<Long, MovieRatingStats> movieRatingStats = new ConcurrentHashMap<>();
+    private final AtomicLong totalRatingSum = new AtomicLong();
+    private final AtomicLong totalVoteCount = new AtomicLong();
+    private final AtomicBoolean leaderboardsOutdated = new AtomicBoolean(true);
+    private volatile Leaderboards leaderboards = new Leaderboards(EMPTY_LEADERBOARD, new EnumMap<>(Genre.class));
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadMovieRatingStats(){
+        for (MovieRatingProjection movie : movieRepository.findAllRatingSummaries()) {
+            putMovieRatingStats(movie.getId(), new MovieRatingStats(movie.getGenre(), valueOrZero(movie.getTotalRating()), valueOrZero(movie.getTotalVotes())));
+        }
+        rebuildLeaderboards();
+    }
+
+    @Override
+    public void updateMovie(MovieEntity movieEntity) {
+        Long movieId = movieEntity.getId();
+        MovieRatingStats stats = new MovieRatingStats(movieEntity.getGenre(),
+                valueOrZero(movieEntity.getTotalRating()), valueOrZero(movieEntity.getTotalVotes()));
+        TransactionCallbacks.afterCommit(() -> putMovieRatingStats(movieId, stats));
+    }
+
+    @Override
+    public void removeMovie(Long movieId) {
+        TransactionCallbacks.afterCommit(() -> removeMovieRatingStats(movieId));
+    }
+
+    @Override
+    public List<MovieRetrievalDto> getTopRatedMovies(Genre genre, Integer pageNumber, Integer pageSize) {
+        Leaderboards currentLeaderboards = leaderboards;
+        long[] leaderboard = genre == null ? currentLeaderboards.global() : currentLeaderboards.byGenre().getOrDefault(genre, EMPTY_LEADERBOARD);
+        long from = (long) pageNumber * pageSize;
+        if (pageNumber < 0 || pageSize <= 0 || from >= leaderboard.length){
+            return List.of();
+        }
+        int to = (int) Math.min(from + pageSize, leaderboard.length);
+        List<Long> pageMovieIds = Arrays.stream(leaderboard, (int) from, to).boxed().toList();
+        Map<Long, MovieEntity> moviesById = movieRepository.findAllById(pageMovieIds)
+                .stream()
+                .collect(Collectors.toMap(MovieEntity::getId, Function.identity()));
+        List<MovieRetrievalDto> topRatedMovies = new ArrayList<>(pageMovieIds.size());
+        for (Long movieId : pageMovieIds) {
+            MovieEntity movieEntity = moviesById.get(movieId);
+            if (movieEntity != null){
+                topRatedMovies.add(movieMapper.entityToRetrievalDto(movieEntity, movieEntity.getImgurImageEntity().getLink()));
+            }
+        }
+        return topRatedMovies;
+    }
+
+    @Scheduled(fixedDelayString = "${leaderboard.rebuild-interval-ms}")
+    @Override
+    public void rebuildLeaderboards() {
+        if (!leaderboardsOutdated.getAndSet(false)){
+            return;
+        }
+        long voteCount = totalVoteCount.get();
+        double globalMean = voteCount == 0 ? 0.0 : (double) totalRatingSum.get() / voteCount;
+        List<RankedMovie> rankedMovies = new ArrayList<>(movieRatingStats.size());
+        movieRatingStats.forEach((movieId, stats) -> rankedMovies.add(new RankedMovie(movieId, stats.genre(), stats.totalVotes(),
+                (stats.totalRating() + minimumVotes * globalMean) / (stats.totalVotes() + minimumVotes))));
+        rankedMovies.sort(Comparator.comparingDouble(RankedMovie::score).reversed()
+                .thenComparing(Comparator.comparingInt(RankedMovie::totalVotes).reversed())
+                .thenComparingLong(RankedMovie::movieId));
+
+        Map<Genre, List<RankedMovie>> rankedMoviesByGenre = rankedMovies.stream()
+                .filter(rankedMovie -> rankedMovie.genre() != null)
+                .collect(Collectors.groupingBy(RankedMovie::genre, () -> new EnumMap<>(Genre.class), Collectors.toList()));
+        Map<Genre, long[]> leaderboardsByGenre = new EnumMap<>(Genre.class);
+        rankedMoviesByGenre.forEach((genre, genreMovies) -> leaderboardsByGenre.put(genre, toMovieIds(genreMovies)));
+        leaderboards = new Leaderboards(toMovieIds(rankedMovies), leaderboardsByGenre);
+    }
+
+    private void putMovieRatingStats(Long movieId, MovieRatingStats stats){
+        MovieRatingStats previousStats = movieRatingStats.put(movieId, stats);
+        long previousTotalRating = previousStats == null ? 0 : previousStats.totalRating();
+        long previousTotalVotes = previousStats == null ? 0 : previousStats.totalVotes();
+        totalRatingSum.addAndGet(stats.totalRating() - previousTotalRating);
+        totalVoteCount.addAndGet(stats.totalVotes() - previousTotalVotes);
+        leaderboardsOutdated.set(true);
+    }
+
+    private void removeMovieRatingStats(Long movieId){
+        MovieRatingStats previousStats = movieRatingStats.remove(movieId);
+        if (previousStats != null){
+            totalRatingSum.addAndGet(-previousStats.totalRating());
+            totalVoteCount.addAndGet(-previousStats.totalVotes());
+            leaderboardsOutdated.set(true);
+        }
+    }
+
+    private long[] toMovieIds(List<RankedMovie> rankedMovies){
+        return rankedMovies.stream().mapToLong(RankedMovie::movieId).toArray();
+    }
+
+    private int valueOrZero(Integer value){
+        return value == null ? 0 : value;
+    }
+
+    private record MovieRatingStats(Genre genre, int totalRating, int totalVotes) {
+    }
+
+    private record RankedMovie(Long movieId, Genre genre, int totalVotes, double score) {
+    }
+
+    private record Leaderboards(long[] global, Map<Genre, long[]> byGenre) {
+    }
+}
@@ -0,0 +1,105 @@
+package com.api.MoviePedia.service.impl;
+
+import com.api.MoviePedia.enumeration.ImageStatus;
+import com.api.MoviePedia.repository.model.ImgurImageEntity;
+import com.api.MoviePedia.service.LocalImageStorageService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+@ConditionalOnProperty(name = "image.storage.backend", havingValue = "local")
+@Service
+public class LocalImageStorageServiceImpl implements LocalImageStorageService {
+    private static final Pattern IMAGE_KEY_PATTERN = Pattern.compile("[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{32}\\.[a-z]{3,4}");
+
+    @Value("${image.storage.local.directory}")
+    private String storageDirectory;
+
+    @Value("${image.storage.local.public-url}")
+    private String publicUrl;
+
+    @Override
+    public ImgurImageEntity storeImage(Resource image) {
+        String imageName = UUID.randomUUID().toString().replace("-", "");
+        String imagePrefix = imageName.substring(0, 2) + "/" + imageName.substring(2, 4) + "/" + imageName;
+        String imageKey;
+        try {
+            Path imageDirectory = Paths.get(storageDirectory).resolve(imagePrefix).getParent();
+            Files.createDirectories(imageDirectory);
+            Path temporaryPath = Files.createTempFile(imageDirectory, imageName, ".tmp");
+            try (InputStream inputStream = image.getInputStream()){
+                Files.copy(inputStream, temporaryPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+            imageKey = imagePrefix + "." + detectFileExtension(readHeader(temporaryPath));
+            Files.move(temporaryPath, Paths.get(storageDirectory).resolve(imageKey), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException exception){
+            throw new UncheckedIOException("Could not store image " + imagePrefix, exception);
+        }
+        return new ImgurImageEntity(imageKey, publicUrl + "/" + imageKey, imageKey, ImageStatus.READY, null, 1, null, null, null, null, null, null);
+    }
+
+    @Override
+    public void deleteImage(String deleteHash) {
+        try {
+            Files.deleteIfExists(getImagePath(deleteHash));
+        } catch (NoSuchElementException exception){
+            return;
+        } catch (IOException exception){
+            throw new UncheckedIOException("Could not delete image " + deleteHash, exception);
+        }
+    }
+
+    @Override
+    public Path getImagePath(String imageKey) {
+        if (imageKey == null || !IMAGE_KEY_PATTERN.matcher(imageKey).matches()){
+            throw new NoSuchElementException("Image: " + imageKey + " does not exist");
+        }
+        return Paths.get(storageDirectory).resolve(imageKey);
+    }
+
+    private byte[] readHeader(Path imagePath) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(imagePath)){
+            return inputStream.readNBytes(12);
+        }
+    }
+
+    private String detectFileExtension(byte[] imageContents){
+        if (startsWith(imageContents, 0, (byte) 0x89, (byte) 'P', (byte) 'N', (byte) 'G')){
+            return "png";
+        }
+        if (startsWith(imageContents, 0, (byte) 0xFF, (byte) 0xD8, (byte) 0xFF)){
+            return "jpg";
+        }
+        if (startsWith(imageContents, 0, (byte) 'G', (byte) 'I', (byte) 'F', (byte) '8')){
+            return "gif";
+        }
+        if (startsWith(imageContents, 0, (byte) 'R', (byte) 'I', (byte) 'F', (byte) 'F') && startsWith(imageContents, 8, (byte) 'W', (byte) 'E', (byte) 'B', (byte) 'P')){
+            return "webp";
+        }
+        return "bin";
+    }
+
+    private boolean startsWith(byte[] contents, int offset, byte... prefix){
+        if (contents.length < offset + prefix.length){
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (contents[offset + i] != prefix[i]){
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,8 +1,11 @@
 package com.api.MoviePedia.service.impl;
 
 import com.api.MoviePedia.builder.MovieSpecificationBuilder;
+import com.api.MoviePedia.enumeration.ActivityType;
 import com.api.MoviePedia.enumeration.Role;
+import com.api.MoviePedia.enumeration.StreamFormat;
 import com.api.MoviePedia.exception.DuplicateDatabaseEntryException;
+import com.api.MoviePedia.model.image.SpooledImage;
 import com.api.MoviePedia.model.movie.MovieCreationDto;
 import com.api.MoviePedia.model.movie.MovieRetrievalDto;
 import com.api.MoviePedia.model.movie.SearchCriteriaDto;
@@ -17,11 +20,22 @@ import com.api.MoviePedia.repository.model.RatingEntity;
 import com.api.MoviePedia.repository.model.UserEntity;
 import com.api.MoviePedia.service.ActorService;
 import com.api.MoviePedia.service.DirectorService;
-import com.api.MoviePedia.service.FileStorageService;
+import com.api.MoviePedia.service.ImageUploadService;
+import com.api.MoviePedia.service.LeaderboardService;
 import com.api.MoviePedia.service.MovieService;
+import com.api.MoviePedia.service.TrendingService;
 import com.api.MoviePedia.service.UserService;
+import com.api.MoviePedia.util.ETagUtils;
+import com.api.MoviePedia.util.JsonStreamWriter;
+import com.api.MoviePedia.util.jdbc.CursorFetch;
 import com.api.MoviePedia.util.mapper.MovieMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -30,8 +44,12 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -41,17 +59,34 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+@Timed(value = "movie.service", histogram = true)
 @RequiredArgsConstructor
 @Service
 public class MovieServiceImpl implements MovieService {
+    @Value("${movie.rating.max-attempts}")
+    private Integer ratingMaxAttempts;
+
     private final MovieRepository movieRepository;
     private final RatingRepository ratingRepository;
     private final MovieMapper movieMapper;
-    private final FileStorageService fileStorageService;
+    private final JsonStreamWriter jsonStreamWriter;
+    private final CursorFetch cursorFetch;
+    private final ImageUploadService imageUploadService;
     private final DirectorService directorService;
     private final ActorService actorService;
     private final UserService userService;
+    private final TrendingService trendingService;
+    private final LeaderboardService leaderboardService;
+    private final PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void initializeTransactionTemplate(){
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     @Override
     public List<MovieRetrievalDto> getAllMovies() {
@@ -62,6 +97,17 @@ public class MovieServiceImpl implements MovieService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public void streamAllMovies(StreamFormat streamFormat, OutputStream outputStream) throws IOException {
+        cursorFetch.enableForCurrentTransaction();
+        try (Stream<MovieEntity> movies = movieRepository.streamAll()){
+            jsonStreamWriter.write(movies, chunk -> movieRepository.fetchActorsByIdIn(chunk.stream().map(MovieEntity::getId).toList()),
+                    movieEntity -> movieMapper.entityToRetrievalDto(movieEntity, movieEntity.getImgurImageEntity().getLink()),
+                    streamFormat, outputStream);
+        }
+    }
+
     @Override
     public MovieRetrievalDto getMovieById(Long directorId, Long movieId) {
         DirectorEntity directorEntity = directorService.getDirectorEntityById(directorId);
@@ -92,6 +138,19 @@ public class MovieServiceImpl implements MovieService {
         return movieRetrievalDto;
     }
 
+    @Override
+    public String getMovieETag(Long directorId, Long movieId) {
+        Role role = SecurityContextHolder.getContext().getAuthentication().getAuthorities().stream().map(x -> Role.valueOf(x.getAuthority())).toList().get(0);
+        if (role != Role.ROLE_ANONYMOUS){
+            return null;
+        }
+        return movieRepository.findVersionsByIdAndDirectorId(movieId, directorId)
+                .map(versions -> ETagUtils.strongETag("movie", versions.getMovieVersion(), versions.getDirectorVersion(),
+                        versions.getActorCount(), versions.getActorVersionSum(), versions.getMovieImageStatus(), versions.getDirectorImageStatus(),
+                        versions.getActorPendingImageCount(), versions.getActorFailedImageCount()))
+                .orElse(null);
+    }
+
     @Override
     public MovieEntity getMovieEntityById(Long movieId) {
         Optional<MovieEntity> optionalMovieEntity = movieRepository.findById(movieId);
@@ -113,15 +172,34 @@ public class MovieServiceImpl implements MovieService {
 
     @Override
     public MovieRetrievalDto createMovie(Long directorId, MovieCreationDto movieCreationDto) throws IOException {
+        return createMovie(directorId, movieCreationDto, new ByteArrayResource(movieCreationDto.getPicture()));
+    }
+
+    @Override
+    public MovieRetrievalDto createMovie(Long directorId, MovieCreationDto movieCreationDto, InputStreamSource picture) throws IOException {
+        return imageUploadService.withSpooledImage(picture, spooledImage -> createMovie(directorId, movieCreationDto, spooledImage));
+    }
+
+    private MovieRetrievalDto createMovie(Long directorId, MovieCreationDto movieCreationDto, SpooledImage spooledImage) {
         DirectorEntity directorEntity = directorService.getDirectorEntityById(directorId);
-        ImgurImageEntity imgurImageEntity = fileStorageService.saveFile(movieCreationDto.getPicture());
-        MovieEntity movieEntity = movieMapper.creationDtoToEntity(movieCreationDto, null, imgurImageEntity, 0, 0, 0.0, directorEntity, new HashSet<>(), new HashSet<>());
+        ImgurImageEntity imgurImageEntity = imageUploadService.acquireImage(spooledImage);
+        MovieEntity movieEntity = movieMapper.creationDtoToEntity(movieCreationDto, null, null, imgurImageEntity, 0, 0, 0.0, directorEntity, new HashSet<>(), new HashSet<>());
         movieEntity = movieRepository.save(movieEntity);
+        leaderboardService.updateMovie(movieEntity);
         return movieMapper.entityToRetrievalDto(movieEntity, movieEntity.getImgurImageEntity().getLink());
     }
 
     @Override
     public MovieRetrievalDto editMovieById(Long movieId, Long directorId, MovieCreationDto movieCreationDto) throws IOException {
+        return editMovieById(movieId, directorId, movieCreationDto, new ByteArrayResource(movieCreationDto.getPicture()));
+    }
+
+    @Override
+    public MovieRetrievalDto editMovieById(Long movieId, Long directorId, MovieCreationDto movieCreationDto, InputStreamSource picture) throws IOException {
+        return imageUploadService.withSpooledImage(picture, spooledImage -> editMovieById(movieId, directorId, movieCreationDto, spooledImage));
+    }
+
+    private MovieRetrievalDto editMovieById(Long movieId, Long directorId, MovieCreationDto movieCreationDto, SpooledImage spooledImage) {
         DirectorEntity directorEntity = directorService.getDirectorEntityById(directorId);
         MovieEntity movieEntity = directorEntity
                 .getMovies()
@@ -129,18 +207,16 @@ public class MovieServiceImpl implements MovieService {
                 .filter(movie -> movie.getId().equals(movieId))
                 .findFirst()
                 .orElseThrow(() -> new NoSuchElementException("Director has not made a movie with id: " + movieId));
-        ImgurImageEntity imgurImageEntity = editMoviePicture(movieCreationDto, movieEntity);
-        movieEntity = movieMapper.creationDtoToEntity(movieCreationDto, movieEntity.getId(), imgurImageEntity, movieEntity.getTotalRating(),
+        ImgurImageEntity previousImgurImageEntity = movieEntity.getImgurImageEntity();
+        ImgurImageEntity imgurImageEntity = imageUploadService.acquireImage(spooledImage);
+        movieEntity = movieMapper.creationDtoToEntity(movieCreationDto, movieEntity.getId(), movieEntity.getVersion(), imgurImageEntity, movieEntity.getTotalRating(),
                 movieEntity.getTotalVotes(),movieEntity.getRating(), directorEntity, movieEntity.getActors(), movieEntity.getReviews());
         movieEntity = movieRepository.save(movieEntity);
+        imageUploadService.releaseImage(previousImgurImageEntity);
+        leaderboardService.updateMovie(movieEntity);
         return movieMapper.entityToRetrievalDto(movieEntity, movieEntity.getImgurImageEntity().getLink());
     }
 
-    private ImgurImageEntity editMoviePicture(MovieCreationDto newMovieData, MovieEntity oldMovieData) throws IOException {
-        fileStorageService.deleteFileByHash(oldMovieData.getImgurImageEntity().getId());
-        return fileStorageService.saveFile(newMovieData.getPicture());
-    }
-
     @Override
     public MovieRetrievalDto setMovieActors(Long directorId, Long movieId, Set<Long> actorIds) {
         DirectorEntity directorEntity = directorService.getDirectorEntityById(directorId);
@@ -163,6 +239,7 @@ public class MovieServiceImpl implements MovieService {
         return movieMapper.entityToRetrievalDto(movieEntity, movieEntity.getImgurImageEntity().getLink());
     }
 
+    @Transactional
     @Override
     public void deleteMovieById(Long directorId, Long movieId) {
         DirectorEntity directorEntity = directorService.getDirectorEntityById(directorId);
@@ -175,8 +252,9 @@ public class MovieServiceImpl implements MovieService {
         removeActorsFromMovie(movieEntity);
         removeMovieFromWatchlists(movieEntity);
         removeMovieFromWatchedMovies(movieEntity);
-        fileStorageService.deleteFileByHash(movieEntity.getImgurImageEntity().getId());
         movieRepository.deleteById(movieId);
+        imageUploadService.releaseImage(movieEntity.getImgurImageEntity());
+        leaderboardService.removeMovie(movieId);
     }
 
     private void removeActorsFromMovie(MovieEntity movieEntity) {
@@ -232,6 +310,7 @@ public class MovieServiceImpl implements MovieService {
        UserEntity userEntity = userService.getUserEntityById(userId);
        userEntity.getWatchedMovies().add(movieEntity);
        movieRepository.save(movieEntity);
+       trendingService.recordActivity(movieId, ActivityType.WATCHED);
     }
 
     @Override
@@ -247,6 +326,7 @@ public class MovieServiceImpl implements MovieService {
         UserEntity userEntity = userService.getUserEntityById(userId);
         userEntity.getWatchlist().add(movieEntity);
         movieRepository.save(movieEntity);
+        trendingService.recordActivity(movieId, ActivityType.WATCHLIST);
     }
 
     @Override
@@ -296,6 +376,19 @@ public class MovieServiceImpl implements MovieService {
     @Override
     public void rateMovieById(Long directorId, Long movieId, Integer rating) {
         Long userId = (Long) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        for (int attempt = 1; ; attempt++){
+            try {
+                transactionTemplate.executeWithoutResult(status -> rateMovie(userId, directorId, movieId, rating));
+                return;
+            } catch (OptimisticLockingFailureException exception){
+                if (attempt >= ratingMaxAttempts){
+                    throw exception;
+                }
+            }
+        }
+    }
+
+    private void rateMovie(Long userId, Long directorId, Long movieId, Integer rating){
         DirectorEntity directorEntity = directorService.getDirectorEntityById(directorId);
         MovieEntity movieEntity = directorEntity
                 .getMovies()
@@ -303,20 +396,21 @@ public class MovieServiceImpl implements MovieService {
                 .filter(movie -> movie.getId().equals(movieId))
                 .findFirst()
                 .orElseThrow(() -> new NoSuchElementException("Director has not made a movie with id: " + movieId));
-        if(checkIfUserAlreadyRatedMovie(userId, movieEntity)){
-            RatingEntity userRating = getUserRatingForMovie(userId, movieEntity);
-            if (userRating != null){
-                movieEntity.setTotalRating(movieEntity.getTotalRating() - userRating.getRating());
-                movieEntity.setTotalVotes(movieEntity.getTotalVotes() - 1);
-                movieEntity.getRatings().remove(userRating);
-                ratingRepository.deleteById(userRating.getId());
-            }
+        // a re-rating updates the existing row, so it keeps its id and the incremental export sees the new value
+        RatingEntity ratingEntity = getUserRatingForMovie(userId, movieEntity);
+        if (ratingEntity != null){
+            movieEntity.setTotalRating(movieEntity.getTotalRating() - ratingEntity.getRating());
+            movieEntity.setTotalVotes(movieEntity.getTotalVotes() - 1);
+            ratingEntity.setRating(rating);
+        } else {
+            UserEntity userEntity = userService.getUserEntityById(userId);
+            ratingEntity = new RatingEntity(null, rating, userEntity, movieEntity, null);
         }
         movieEntity.rateMovie(rating);
-        UserEntity userEntity = userService.getUserEntityById(userId);
-        RatingEntity ratingEntity = new RatingEntity(null, rating, userEntity, movieEntity);
         movieRepository.save(movieEntity);
         ratingRepository.save(ratingEntity);
+        leaderboardService.updateMovie(movieEntity);
+        trendingService.recordActivity(movieId, ActivityType.RATING);
     }
 
     @Override
@@ -335,15 +429,6 @@ public class MovieServiceImpl implements MovieService {
         throw new NoSuchElementException("User with id: " + userId + " has not rated this movie");
     }
 
-    private Boolean checkIfUserAlreadyRatedMovie(Long userId, MovieEntity movieEntity) {
-        for (RatingEntity ratingEntity : movieEntity.getRatings()) {
-            if (ratingEntity.getUser().getId().equals(userId)){
-                return true;
-            }
-        }
-        return false;
-    }
-
     private RatingEntity getUserRatingForMovie(Long userId, MovieEntity movieEntity){
         for (RatingEntity ratingEntity : movieEntity.getRatings()) {
             if (ratingEntity.getUser().getId().equals(userId)){
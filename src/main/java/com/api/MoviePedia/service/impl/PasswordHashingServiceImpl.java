@@ -0,0 +1,100 @@
+package com.api.MoviePedia.service.impl;
+
+import com.api.MoviePedia.exception.PasswordHashingUnavailableException;
+import com.api.MoviePedia.service.PasswordHashingService;
+import com.api.MoviePedia.util.ThreadFactories;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@RequiredArgsConstructor
+@Service
+public class PasswordHashingServiceImpl implements PasswordHashingService {
+    private static final String PASSWORD_HASHING_METRIC = "password.hashing";
+
+    @Value("${password.hashing.pool-size}")
+    private Integer poolSize;
+
+    @Value("${password.hashing.queue-capacity}")
+    private Integer queueCapacity;
+
+    @Value("${password.hashing.timeout-ms}")
+    private Long timeoutMs;
+
+    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final MeterRegistry meterRegistry;
+
+    private ThreadPoolExecutor hashingExecutor;
+    private Timer encodeTimer;
+    private Timer matchesTimer;
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    public void initializeHashingExecutor(){
+        int threadCount = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        hashingExecutor = new ThreadPoolExecutor(threadCount, threadCount, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                ThreadFactories.platformDaemon("password-hash-"));
+        new ExecutorServiceMetrics(hashingExecutor, PASSWORD_HASHING_METRIC, Tags.empty()).bindTo(meterRegistry);
+        encodeTimer = meterRegistry.timer(PASSWORD_HASHING_METRIC + ".duration", "operation", "encode");
+        matchesTimer = meterRegistry.timer(PASSWORD_HASHING_METRIC + ".duration", "operation", "matches");
+        rejectedCounter = meterRegistry.counter(PASSWORD_HASHING_METRIC + ".rejected");
+    }
+
+    @PreDestroy
+    public void shutdownHashingExecutor(){
+        hashingExecutor.shutdown();
+    }
+
+    @Override
+    public String encode(String rawPassword) {
+        return execute(() -> encodeTimer.record(() -> bCryptPasswordEncoder.encode(rawPassword)));
+    }
+
+    @Override
+    public Boolean matches(String rawPassword, String encodedPassword) {
+        return execute(() -> matchesTimer.record(() -> bCryptPasswordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    private <T> T execute(Callable<T> hashingTask){
+        Future<T> hashingResult;
+        try {
+            hashingResult = hashingExecutor.submit(hashingTask);
+        } catch (RejectedExecutionException exception){
+            rejectedCounter.increment();
+            throw new PasswordHashingUnavailableException("Too many concurrent authentication requests, please try again later");
+        }
+        try {
+            return hashingResult.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException exception){
+            hashingResult.cancel(true);
+            rejectedCounter.increment();
+            throw new PasswordHashingUnavailableException("Too many concurrent authentication requests, please try again later");
+        } catch (InterruptedException exception){
+            hashingResult.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException("Password hashing was interrupted");
+        } catch (ExecutionException exception){
+            if (exception.getCause() instanceof RuntimeException runtimeException){
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", exception.getCause());
+        }
+    }
+}
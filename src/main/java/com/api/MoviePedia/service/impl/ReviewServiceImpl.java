@@ -1,5 +1,6 @@
 package com.api.MoviePedia.service.impl;
 
+import com.api.MoviePedia.enumeration.ActivityType;
 import com.api.MoviePedia.enumeration.Role;
 import com.api.MoviePedia.exception.DuplicateDatabaseEntryException;
 import com.api.MoviePedia.model.review.ReviewCreationDto;
@@ -16,8 +17,10 @@ import com.api.MoviePedia.repository.model.UserEntity;
 import com.api.MoviePedia.service.DirectorService;
 import com.api.MoviePedia.service.MovieService;
 import com.api.MoviePedia.service.ReviewService;
+import com.api.MoviePedia.service.TrendingService;
 import com.api.MoviePedia.service.UserService;
 import com.api.MoviePedia.util.mapper.ReviewMapper;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -30,6 +33,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+@Timed(value = "review.service", histogram = true)
 @RequiredArgsConstructor
 @Service
 public class ReviewServiceImpl implements ReviewService {
@@ -40,6 +44,7 @@ public class ReviewServiceImpl implements ReviewService {
     private final UserService userService;
     private final DirectorService directorService;
     private final MovieService movieService;
+    private final TrendingService trendingService;
 
     @Override
     public Set<ReviewRetrievalDto> getAllReviewsByDirectorIdAndMovieId(Long directorId, Long movieId) {
@@ -112,7 +117,9 @@ public class ReviewServiceImpl implements ReviewService {
             throw new DuplicateDatabaseEntryException("You have already reviewed this movie");
         }
         ReviewEntity reviewEntity = reviewMapper.creationDtoToEntity(reviewCreationDto, null, new HashSet<>(), new HashSet<>(), userEntity, movieEntity);
-        return reviewMapper.entityToRetrievalDto(reviewRepository.save(reviewEntity), reviewEntity.getLikes().size(), reviewEntity.getDislikes().size());
+        ReviewRetrievalDto reviewRetrievalDto = reviewMapper.entityToRetrievalDto(reviewRepository.save(reviewEntity), reviewEntity.getLikes().size(), reviewEntity.getDislikes().size());
+        trendingService.recordActivity(movieId, ActivityType.REVIEW);
+        return reviewRetrievalDto;
     }
 
     @Override
@@ -0,0 +1,115 @@
+package com.api.MoviePedia.service.impl;
+
+import com.api.MoviePedia.enumeration.ActivityType;
+import com.api.MoviePedia.model.movie.MovieRetrievalDto;
+import com.api.MoviePedia.repository.MovieRepository;
+import com.api.MoviePedia.repository.model.MovieEntity;
+import com.api.MoviePedia.service.TrendingService;
+import com.api.MoviePedia.util.DecayingActivityCounter;
+import com.api.MoviePedia.util.TransactionCallbacks;
+import com.api.MoviePedia.util.mapper.MovieMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+@Service
+public class TrendingServiceImpl implements TrendingService {
+    @Value("${trending.bucket-count}")
+    private Integer bucketCount;
+
+    @Value("${trending.bucket-duration-ms}")
+    private Long bucketDurationMs;
+
+    @Value("${trending.half-life-ms}")
+    private Long halfLifeMs;
+
+    @Value("${trending.size}")
+    private Integer trendingSize;
+
+    private final MovieRepository movieRepository;
+    private final MovieMapper movieMapper;
+
+    private final Map<Long, DecayingActivityCounter> activityCounters = new ConcurrentHashMap<>();
+    private volatile List<MovieRetrievalDto> trendingMovies = List.of();
+    private double[] decayFactors;
+
+    @PostConstruct
+    public void initializeDecayFactors(){
+        decayFactors = new double[bucketCount];
+        for (int age = 0; age < bucketCount; age++){
+            decayFactors[age] = Math.pow(0.5, (double) (age * bucketDurationMs) / halfLifeMs);
+        }
+    }
+
+    @Override
+    public void recordActivity(Long movieId, ActivityType activityType) {
+        TransactionCallbacks.afterCommit(() -> recordCommittedActivity(movieId, activityType));
+    }
+
+    private void recordCommittedActivity(Long movieId, ActivityType activityType){
+        DecayingActivityCounter activityCounter = activityCounters.get(movieId);
+        if (activityCounter == null){
+            activityCounter = activityCounters.computeIfAbsent(movieId, id -> new DecayingActivityCounter(bucketCount, bucketDurationMs));
+        }
+        activityCounter.record(activityType.getWeight(), System.currentTimeMillis());
+    }
+
+    @Override
+    public List<MovieRetrievalDto> getTrendingMovies() {
+        return trendingMovies;
+    }
+
+    @Scheduled(fixedDelayString = "${trending.refresh-interval-ms}")
+    @Transactional(readOnly = true)
+    @Override
+    public void refreshTrendingMovies() {
+        long now = System.currentTimeMillis();
+        PriorityQueue<MovieScore> topMovies = new PriorityQueue<>(trendingSize + 1, Comparator.comparingDouble(MovieScore::score));
+        activityCounters.forEach((movieId, activityCounter) -> {
+            double score = activityCounter.score(now, decayFactors);
+            if (score <= 0){
+                activityCounters.remove(movieId, activityCounter);
+                return;
+            }
+            topMovies.offer(new MovieScore(movieId, score));
+            if (topMovies.size() > trendingSize){
+                topMovies.poll();
+            }
+        });
+
+        MovieScore[] rankedMovies = topMovies.toArray(new MovieScore[0]);
+        Arrays.sort(rankedMovies, Comparator.comparingDouble(MovieScore::score).reversed());
+        List<Long> rankedMovieIds = Arrays.stream(rankedMovies).map(MovieScore::movieId).toList();
+        Map<Long, MovieEntity> moviesById = movieRepository.findAllById(rankedMovieIds)
+                .stream()
+                .collect(Collectors.toMap(MovieEntity::getId, Function.identity()));
+
+        List<MovieRetrievalDto> refreshedTrendingMovies = new ArrayList<>(rankedMovieIds.size());
+        for (Long movieId : rankedMovieIds) {
+            MovieEntity movieEntity = moviesById.get(movieId);
+            if (movieEntity == null){
+                activityCounters.remove(movieId);
+                continue;
+            }
+            refreshedTrendingMovies.add(movieMapper.entityToRetrievalDto(movieEntity, movieEntity.getImgurImageEntity().getLink()));
+        }
+        trendingMovies = List.copyOf(refreshedTrendingMovies);
+    }
+
+    private record MovieScore(Long movieId, double score) {
+    }
+}
@@ -1,6 +1,7 @@
 package com.api.MoviePedia.service.impl;
 
 import com.api.MoviePedia.enumeration.Role;
+import com.api.MoviePedia.enumeration.StreamFormat;
 import com.api.MoviePedia.exception.DuplicateDatabaseEntryException;
 import com.api.MoviePedia.exception.RequestBodyFieldValidationException;
 import com.api.MoviePedia.model.FieldValidationErrorModel;
@@ -10,13 +11,19 @@ import com.api.MoviePedia.model.UserRetrievalDto;
 import com.api.MoviePedia.repository.UserRepository;
 import com.api.MoviePedia.repository.model.UserEntity;
 import com.api.MoviePedia.service.AuthenticationService;
+import com.api.MoviePedia.service.JWTService;
+import com.api.MoviePedia.service.PasswordHashingService;
 import com.api.MoviePedia.service.UserService;
+import com.api.MoviePedia.util.JsonStreamWriter;
+import com.api.MoviePedia.util.jdbc.CursorFetch;
 import com.api.MoviePedia.util.mapper.UserMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -24,17 +31,21 @@ import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RequiredArgsConstructor
 @Service
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
-    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final AuthenticationService authenticationService;
+    private final JWTService jwtService;
+    private final JsonStreamWriter jsonStreamWriter;
+    private final CursorFetch cursorFetch;
     @Override
     public UserRetrievalDto registerUser(UserCreationDto creationDto) {
-        creationDto.setPassword(bCryptPasswordEncoder.encode(creationDto.getPassword()));
+        creationDto.setPassword(passwordHashingService.encode(creationDto.getPassword()));
         UserEntity userEntity = userMapper.creationDtoToEntity(creationDto, null, Role.ROLE_USER, new HashSet<>(), new HashSet<>(), new HashSet<>());
         return userMapper.entityToRetrievalDto(userRepository.save(userEntity));
     }
@@ -44,6 +55,15 @@ public class UserServiceImpl implements UserService {
         return userRepository.findAll().stream().map(userMapper::entityToRetrievalDto).collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public void streamAllUsers(StreamFormat streamFormat, OutputStream outputStream) throws IOException {
+        cursorFetch.enableForCurrentTransaction();
+        try (Stream<UserRetrievalDto> users = userRepository.streamAllRetrievalDtos()){
+            jsonStreamWriter.write(users, streamFormat, outputStream);
+        }
+    }
+
     @Override
     public UserRetrievalDto createContentCurator(UserCreationDto creationDto) {
         List<FieldValidationErrorModel> fieldErrors = new ArrayList<>();
@@ -52,7 +72,7 @@ public class UserServiceImpl implements UserService {
         if (!fieldErrors.isEmpty()){
             throw new RequestBodyFieldValidationException(fieldErrors);
         }
-        creationDto.setPassword(bCryptPasswordEncoder.encode(creationDto.getPassword()));
+        creationDto.setPassword(passwordHashingService.encode(creationDto.getPassword()));
         UserEntity userEntity = userMapper.creationDtoToEntity(creationDto, null, Role.ROLE_CONTENT_CURATOR, new HashSet<>(), new HashSet<>(), new HashSet<>());
         return userMapper.entityToRetrievalDto(userRepository.save(userEntity));
     }
@@ -103,7 +123,9 @@ public class UserServiceImpl implements UserService {
             userEntity.setRole(optionalUserEntityById.get().getRole());
         }
 
-        return userMapper.entityToRetrievalDto(userRepository.save(userEntity));
+        UserRetrievalDto userRetrievalDto = userMapper.entityToRetrievalDto(userRepository.save(userEntity));
+        jwtService.evictRefreshTokensByUserId(userId);
+        return userRetrievalDto;
     }
 
     @Override
@@ -122,5 +144,6 @@ public class UserServiceImpl implements UserService {
             throw new NoSuchElementException("User with id: " + userId + " does not exist");
         }
         userRepository.deleteById(userId);
+        jwtService.evictRefreshTokensByUserId(userId);
     }
 }
@@ -0,0 +1,43 @@
+package com.api.MoviePedia.util;
+
+import com.api.MoviePedia.exception.ImageTooLargeException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public final class ContentHashes {
+    private static final int BUFFER_SIZE = 8192;
+
+    private ContentHashes(){
+    }
+
+    public static String copyAndHash(InputStream source, OutputStream target, long maxBytes) throws IOException {
+        MessageDigest contentDigest = createContentDigest();
+        try (InputStream inputStream = new DigestInputStream(source, contentDigest)){
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long size = 0;
+            int readBytes;
+            while ((readBytes = inputStream.read(buffer)) != -1){
+                size += readBytes;
+                if (size > maxBytes){
+                    throw new ImageTooLargeException("Image exceeds the maximum allowed size of " + maxBytes + " bytes");
+                }
+                target.write(buffer, 0, readBytes);
+            }
+        }
+        return HexFormat.of().formatHex(contentDigest.digest());
+    }
+
+    private static MessageDigest createContentDigest(){
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException exception){
+            throw new IllegalStateException("SHA-256 digest is not available", exception);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.api.MoviePedia.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Component
+public class CsvStreamWriter {
+    private final CsvMapper csvMapper = CsvMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .build();
+
+    public <T> void write(Stream<T> source, Class<T> rowType, OutputStream outputStream) throws IOException {
+        CsvSchema schema = csvMapper.schemaFor(rowType).withHeader().withArrayElementSeparator(";");
+        try (SequenceWriter sequenceWriter = csvMapper.writer(schema).writeValues(outputStream)){
+            Iterator<T> iterator = source.iterator();
+            while (iterator.hasNext()){
+                sequenceWriter.write(iterator.next());
+            }
+        }
+    }
+}
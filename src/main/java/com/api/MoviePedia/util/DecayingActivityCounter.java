@@ -0,0 +1,54 @@
+package com.api.MoviePedia.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Ring of time buckets where each slot packs the bucket epoch (high 32 bits) and the
+ * weighted activity count (low 32 bits) into one long, so recording is a single CAS.
+ */
+public class DecayingActivityCounter {
+    private static final int EPOCH_SHIFT = 32;
+    private static final long LOW_BITS_MASK = 0xFFFFFFFFL;
+
+    private final AtomicLongArray buckets;
+    private final long bucketDurationMs;
+
+    public DecayingActivityCounter(int bucketCount, long bucketDurationMs){
+        this.buckets = new AtomicLongArray(bucketCount);
+        this.bucketDurationMs = bucketDurationMs;
+    }
+
+    public void record(int weight, long nowMs){
+        long epoch = epochOf(nowMs);
+        int index = (int) (epoch % buckets.length());
+        while (true){
+            long current = buckets.get(index);
+            long next;
+            if ((current >>> EPOCH_SHIFT) == epoch){
+                next = (epoch << EPOCH_SHIFT) | Math.min((current & LOW_BITS_MASK) + weight, LOW_BITS_MASK);
+            } else {
+                next = (epoch << EPOCH_SHIFT) | weight;
+            }
+            if (buckets.compareAndSet(index, current, next)){
+                return;
+            }
+        }
+    }
+
+    public double score(long nowMs, double[] decayFactors){
+        long currentEpoch = epochOf(nowMs);
+        double score = 0;
+        for (int i = 0; i < buckets.length(); i++){
+            long value = buckets.get(i);
+            long age = (currentEpoch - (value >>> EPOCH_SHIFT)) & LOW_BITS_MASK;
+            if (age < buckets.length() && age < decayFactors.length){
+                score += (value & LOW_BITS_MASK) * decayFactors[(int) age];
+            }
+        }
+        return score;
+    }
+
+    private long epochOf(long nowMs){
+        return (nowMs / bucketDurationMs) & LOW_BITS_MASK;
+    }
+}
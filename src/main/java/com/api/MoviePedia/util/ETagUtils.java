@@ -0,0 +1,13 @@
+package com.api.MoviePedia.util;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+public final class ETagUtils {
+    private ETagUtils(){
+    }
+
+    public static String strongETag(String resourceType, Object... versions){
+        return "\"" + resourceType + "-" + Arrays.stream(versions).map(String::valueOf).collect(Collectors.joining(".")) + "\"";
+    }
+}
@@ -0,0 +1,72 @@
+package com.api.MoviePedia.util;
+
+import com.api.MoviePedia.enumeration.StreamFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+@Component
+public class JsonStreamWriter {
+    @Value("${streaming.clear-interval}")
+    private Integer clearInterval;
+
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    public <T> void write(Stream<T> source, StreamFormat streamFormat, OutputStream outputStream) throws IOException {
+        write(source, Function.identity(), streamFormat, outputStream);
+    }
+
+    public <T, R> void write(Stream<T> source, Function<T, R> mapper, StreamFormat streamFormat, OutputStream outputStream) throws IOException {
+        write(source, chunk -> {}, mapper, streamFormat, outputStream);
+    }
+
+    /**
+     * Writes the source in chunks of {@code streaming.clear-interval} elements, handing each chunk to the chunk loader
+     * before it is mapped so associations can be initialized with one query per chunk instead of one per element.
+     * The persistence context is cleared after every chunk.
+     */
+    public <T, R> void write(Stream<T> source, Consumer<List<T>> chunkLoader, Function<T, R> mapper, StreamFormat streamFormat,
+                             OutputStream outputStream) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        if (streamFormat == StreamFormat.JSON){
+            generator.writeStartArray();
+        }
+        Iterator<T> iterator = source.iterator();
+        List<T> chunk = new ArrayList<>(clearInterval);
+        while (iterator.hasNext()){
+            chunk.add(iterator.next());
+            if (chunk.size() == clearInterval || !iterator.hasNext()){
+                chunkLoader.accept(chunk);
+                for (T element : chunk) {
+                    generator.writeObject(mapper.apply(element));
+                    if (streamFormat == StreamFormat.NDJSON){
+                        generator.writeRaw('\n');
+                    }
+                }
+                chunk.clear();
+                entityManager.clear();
+                generator.flush();
+            }
+        }
+        if (streamFormat == StreamFormat.JSON){
+            generator.writeEndArray();
+        }
+        generator.close();
+    }
+}
@@ -1,8 +1,11 @@
 package com.api.MoviePedia.util;
 
+import com.api.MoviePedia.exception.AsyncIoUnavailableException;
 import com.api.MoviePedia.exception.DuplicateDatabaseEntryException;
 import com.api.MoviePedia.exception.ForeignKeyConstraintViolationException;
+import com.api.MoviePedia.exception.ImageTooLargeException;
 import com.api.MoviePedia.exception.InvalidLoginException;
+import com.api.MoviePedia.exception.PasswordHashingUnavailableException;
 import com.api.MoviePedia.exception.RequestBodyFieldValidationException;
 import com.api.MoviePedia.exception.TokenRefreshException;
 import com.api.MoviePedia.model.ExceptionErrorModel;
@@ -12,14 +15,18 @@ import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.SignatureException;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.TimeoutException;
 
 @RestControllerAdvice
 public class RestControllerExceptionHandler {
@@ -33,6 +40,11 @@ public class RestControllerExceptionHandler {
         return new ResponseEntity<>(new ExceptionErrorModel(LocalDateTime.now(), 409, exception.getMessage(), request.getServletPath()), HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ExceptionErrorModel> handleOptimisticLockingFailureException(OptimisticLockingFailureException exception, HttpServletRequest request){
+        return new ResponseEntity<>(new ExceptionErrorModel(LocalDateTime.now(), 409, "The resource was modified concurrently, please try again", request.getServletPath()), HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(NoSuchElementException.class)
     public ResponseEntity<ExceptionErrorModel> handleNoSuchElementException(NoSuchElementException exception, HttpServletRequest request){
         return new ResponseEntity<>(new ExceptionErrorModel(LocalDateTime.now(), 404, exception.getMessage(), request.getServletPath()), HttpStatus.NOT_FOUND);
@@ -82,4 +94,35 @@ public class RestControllerExceptionHandler {
     public ResponseEntity<ExceptionErrorModel> handleTokenRefreshException(TokenRefreshException exception, HttpServletRequest request){
         return new ResponseEntity<>(new ExceptionErrorModel(LocalDateTime.now(), 401, exception.getMessage(), request.getServletPath()), HttpStatus.UNAUTHORIZED);
     }
+
+    @ExceptionHandler(ImageTooLargeException.class)
+    public ResponseEntity<ExceptionErrorModel> handleImageTooLargeException(ImageTooLargeException exception, HttpServletRequest request){
+        return new ResponseEntity<>(new ExceptionErrorModel(LocalDateTime.now(), 413, exception.getMessage(), request.getServletPath()), HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<ExceptionErrorModel> handleMaxUploadSizeExceededException(MaxUploadSizeExceededException exception, HttpServletRequest request){
+        return new ResponseEntity<>(new ExceptionErrorModel(LocalDateTime.now(), 413, exception.getMessage(), request.getServletPath()), HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<ExceptionErrorModel> handlePasswordHashingUnavailableException(PasswordHashingUnavailableException exception, HttpServletRequest request){
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        return new ResponseEntity<>(new ExceptionErrorModel(LocalDateTime.now(), 503, exception.getMessage(), request.getServletPath()), headers, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(AsyncIoUnavailableException.class)
+    public ResponseEntity<ExceptionErrorModel> handleAsyncIoUnavailableException(AsyncIoUnavailableException exception, HttpServletRequest request){
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        return new ResponseEntity<>(new ExceptionErrorModel(LocalDateTime.now(), 503, exception.getMessage(), request.getServletPath()), headers, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(TimeoutException.class)
+    public ResponseEntity<ExceptionErrorModel> handleTimeoutException(TimeoutException exception, HttpServletRequest request){
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        return new ResponseEntity<>(new ExceptionErrorModel(LocalDateTime.now(), 503, "Request processing timed out", request.getServletPath()), headers, HttpStatus.SERVICE_UNAVAILABLE);
+    }
 }
@@ -0,0 +1,103 @@
+package com.api.MoviePedia.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * JDBC activity of one unit of work, usually an HTTP request. The statistics bound to the current thread are
+ * fed by {@link com.api.MoviePedia.util.jdbc.MonitoredDataSource}; counters are thread-safe so async request
+ * work running on another pool can report into the same instance.
+ */
+public class SqlStatementStatistics {
+    public static final String REQUEST_ATTRIBUTE = SqlStatementStatistics.class.getName();
+
+    private static final ThreadLocal<SqlStatementStatistics> CURRENT = new ThreadLocal<>();
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+
+    private final String name;
+    private final LongAdder statementCount = new LongAdder();
+    private final LongAdder rowCount = new LongAdder();
+    private final LongAdder databaseTimeNanos = new LongAdder();
+    private final Map<String, LongAdder> statementShapes = new ConcurrentHashMap<>();
+
+    public SqlStatementStatistics(String name){
+        this.name = name;
+    }
+
+    public static SqlStatementStatistics current(){
+        return CURRENT.get();
+    }
+
+    public static SqlStatementStatistics bind(SqlStatementStatistics statistics){
+        SqlStatementStatistics previous = CURRENT.get();
+        if (statistics == null){
+            CURRENT.remove();
+        } else {
+            CURRENT.set(statistics);
+        }
+        return previous;
+    }
+
+    public static <T> Callable<T> propagate(Callable<T> task){
+        SqlStatementStatistics statistics = current();
+        if (statistics == null){
+            return task;
+        }
+        return () -> {
+            SqlStatementStatistics previous = bind(statistics);
+            try {
+                return task.call();
+            } finally {
+                bind(previous);
+            }
+        };
+    }
+
+    public void recordStatement(String sql, long elapsedNanos){
+        statementCount.increment();
+        databaseTimeNanos.add(elapsedNanos);
+        statementShapes.computeIfAbsent(shapeOf(sql), shape -> new LongAdder()).increment();
+    }
+
+    public void recordRow(){
+        rowCount.increment();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getStatementCount(){
+        return statementCount.sum();
+    }
+
+    public long getRowCount(){
+        return rowCount.sum();
+    }
+
+    public long getDatabaseTimeNanos(){
+        return databaseTimeNanos.sum();
+    }
+
+    public Map<String, Long> getRepeatedStatementShapes(int threshold){
+        Map<String, Long> repeatedShapes = new LinkedHashMap<>();
+        statementShapes.forEach((shape, executions) -> {
+            long executionCount = executions.sum();
+            if (executionCount >= threshold){
+                repeatedShapes.put(shape, executionCount);
+            }
+        });
+        return repeatedShapes;
+    }
+
+    static String shapeOf(String sql){
+        if (sql == null){
+            return "<unknown>";
+        }
+        return PARAMETER_LIST.matcher(sql.strip()).replaceAll("(?)");
+    }
+}
@@ -0,0 +1,40 @@
+package com.api.MoviePedia.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread factories for the application's worker pools. Virtual threads are created reflectively so the
+ * code base keeps compiling for Java 17 while the virtual-thread execution mode can run on Java 21+.
+ */
+public final class ThreadFactories {
+    private ThreadFactories(){
+    }
+
+    public static ThreadFactory platformDaemon(String namePrefix){
+        AtomicInteger threadCounter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public static ThreadFactory virtual(String namePrefix){
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 1L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException exception){
+            throw new IllegalStateException("Virtual threads require Java 21 or newer, running on Java " + Runtime.version(), exception);
+        } catch (InvocationTargetException exception){
+            throw new IllegalStateException("Virtual threads are not available on Java " + Runtime.version(), exception.getCause());
+        }
+    }
+
+    public static ThreadFactory of(String namePrefix, boolean virtualThreads){
+        return virtualThreads ? virtual(namePrefix) : platformDaemon(namePrefix);
+    }
+}
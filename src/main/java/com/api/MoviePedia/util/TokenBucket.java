@@ -0,0 +1,37 @@
+package com.api.MoviePedia.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket stored as a single theoretical arrival time (GCRA), so acquiring a token is one CAS
+ * and a bucket whose arrival time has passed is indistinguishable from a full, freshly created one.
+ */
+public class TokenBucket {
+    private final AtomicLong theoreticalArrivalNanos;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+
+    public TokenBucket(int capacity, long refillPeriodNanos, long nowNanos){
+        this.emissionIntervalNanos = Math.max(refillPeriodNanos / capacity, 1);
+        this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+        this.theoreticalArrivalNanos = new AtomicLong(nowNanos);
+    }
+
+    public long tryAcquire(long nowNanos){
+        while (true){
+            long theoreticalArrival = theoreticalArrivalNanos.get();
+            long earliestArrival = Math.max(theoreticalArrival, nowNanos);
+            long waitNanos = earliestArrival - nowNanos - burstToleranceNanos;
+            if (waitNanos > 0){
+                return waitNanos;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(theoreticalArrival, earliestArrival + emissionIntervalNanos)){
+                return 0;
+            }
+        }
+    }
+
+    public boolean isFull(long nowNanos){
+        return theoreticalArrivalNanos.get() <= nowNanos;
+    }
+}
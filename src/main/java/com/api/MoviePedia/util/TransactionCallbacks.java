@@ -0,0 +1,26 @@
+package com.api.MoviePedia.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory side effects (trending counters, leaderboards) until the surrounding transaction has committed,
+ * so a rolled back request leaves no trace in them. Outside a transaction the action runs immediately.
+ */
+public final class TransactionCallbacks {
+    private TransactionCallbacks(){
+    }
+
+    public static void afterCommit(Runnable action){
+        if (!TransactionSynchronizationManager.isSynchronizationActive()){
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
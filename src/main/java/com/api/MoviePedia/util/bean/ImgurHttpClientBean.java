@@ -0,0 +1,126 @@
+package com.api.MoviePedia.util.bean;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+@Component
+public class ImgurHttpClientBean {
+    private static final String IMGUR_RESILIENCE_NAME = "imgur";
+
+    @Value("${imgur.http.max-connections}")
+    private Integer maxConnections;
+
+    @Value("${imgur.http.connect-timeout}")
+    private Duration connectTimeout;
+
+    @Value("${imgur.http.connection-request-timeout}")
+    private Duration connectionRequestTimeout;
+
+    @Value("${imgur.http.response-timeout}")
+    private Duration responseTimeout;
+
+    @Value("${imgur.http.keep-alive}")
+    private Duration keepAlive;
+
+    @Value("${imgur.circuit-breaker.failure-rate-threshold}")
+    private Float failureRateThreshold;
+
+    @Value("${imgur.circuit-breaker.slow-call-duration-threshold}")
+    private Duration slowCallDurationThreshold;
+
+    @Value("${imgur.circuit-breaker.sliding-window-size}")
+    private Integer slidingWindowSize;
+
+    @Value("${imgur.circuit-breaker.minimum-number-of-calls}")
+    private Integer minimumNumberOfCalls;
+
+    @Value("${imgur.circuit-breaker.wait-duration-in-open-state}")
+    private Duration waitDurationInOpenState;
+
+    @Value("${imgur.bulkhead.max-concurrent-calls}")
+    private Integer maxConcurrentCalls;
+
+    @Value("${imgur.bulkhead.max-wait-duration}")
+    private Duration maxWaitDuration;
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient imgurHttpClient(){
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(connectTimeout))
+                .setSocketTimeout(Timeout.of(responseTimeout))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build();
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                .setResponseTimeout(Timeout.of(responseTimeout))
+                .setConnectionKeepAlive(TimeValue.of(keepAlive))
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(maxConnections)
+                        .setMaxConnPerRoute(maxConnections)
+                        .setDefaultConnectionConfig(connectionConfig)
+                        .build())
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(keepAlive))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate imgurRestTemplate(CloseableHttpClient imgurHttpClient){
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(imgurHttpClient);
+        // pictures are streamed from the spool file instead of being copied into a request buffer first
+        requestFactory.setBufferRequestBody(false);
+        return new RestTemplate(requestFactory);
+    }
+
+    @Bean
+    public CircuitBreaker imgurCircuitBreaker(MeterRegistry meterRegistry){
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallDurationThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .waitDurationInOpenState(waitDurationInOpenState)
+                .recordException(exception -> !(exception instanceof HttpClientErrorException clientErrorException)
+                        || clientErrorException.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS))
+                .build());
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+        return circuitBreakerRegistry.circuitBreaker(IMGUR_RESILIENCE_NAME);
+    }
+
+    @Bean
+    public Bulkhead imgurBulkhead(MeterRegistry meterRegistry){
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(maxWaitDuration)
+                .build());
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+        return bulkheadRegistry.bulkhead(IMGUR_RESILIENCE_NAME);
+    }
+}
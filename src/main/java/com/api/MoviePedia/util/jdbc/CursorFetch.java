@@ -0,0 +1,46 @@
+package com.api.MoviePedia.util.jdbc;
+
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.conf.PropertySet;
+import com.mysql.cj.conf.RuntimeProperty;
+import com.mysql.cj.jdbc.JdbcConnection;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Switches the connection of the current transaction to MySQL server-side cursors, so streamed queries fetch
+ * {@code fetchSize} rows per round trip instead of buffering the whole result. Cursor fetch needs server-side prepared
+ * statements, which is why it is not enabled in the connection URL for every query. The previous settings are restored
+ * when the transaction completes, before the connection goes back to the pool. Other drivers are left untouched.
+ */
+@RequiredArgsConstructor
+@Component
+public class CursorFetch {
+    private final EntityManager entityManager;
+
+    public void enableForCurrentTransaction(){
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            if (!connection.isWrapperFor(JdbcConnection.class)){
+                return;
+            }
+            PropertySet propertySet = connection.unwrap(JdbcConnection.class).getPropertySet();
+            RuntimeProperty<Boolean> useServerPrepStmts = propertySet.getBooleanProperty(PropertyKey.useServerPrepStmts);
+            RuntimeProperty<Boolean> useCursorFetch = propertySet.getBooleanProperty(PropertyKey.useCursorFetch);
+            boolean previousUseServerPrepStmts = useServerPrepStmts.getValue();
+            boolean previousUseCursorFetch = useCursorFetch.getValue();
+            useServerPrepStmts.setValue(true);
+            useCursorFetch.setValue(true);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    useServerPrepStmts.setValue(previousUseServerPrepStmts);
+                    useCursorFetch.setValue(previousUseCursorFetch);
+                }
+            });
+        });
+    }
+}
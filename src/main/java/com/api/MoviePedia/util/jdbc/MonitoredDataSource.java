@@ -0,0 +1,77 @@
+package com.api.MoviePedia.util.jdbc;
+
+import com.api.MoviePedia.util.SqlStatementStatistics;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Data source that reports statement executions, fetched rows and time spent in the driver to the
+ * {@link SqlStatementStatistics} bound to the calling thread. Connections are proxied because only their statement
+ * factories are of interest and they see a handful of calls per transaction; statements and result sets are plain
+ * delegates that only intercept {@code execute*} and {@code next()}, so parameter binding and column reads stay
+ * direct calls. Without bound statistics nothing is recorded.
+ */
+public class MonitoredDataSource extends DelegatingDataSource {
+    public MonitoredDataSource(DataSource targetDataSource){
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return monitor(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return monitor(super.getConnection(username, password));
+    }
+
+    private static Connection monitor(Connection connection){
+        return (Connection) Proxy.newProxyInstance(MonitoredDataSource.class.getClassLoader(), new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    private static class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+
+        ConnectionHandler(Connection connection){
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()){
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Monitored[" + connection + "]";
+                case "createStatement":
+                    return new MonitoredStatement((Statement) delegate(method, args), null);
+                case "prepareStatement":
+                    return new MonitoredPreparedStatement((PreparedStatement) delegate(method, args), (String) args[0]);
+                default:
+                    // prepareCall included: the application has no stored procedures, so callable statements are not counted
+                    return delegate(method, args);
+            }
+        }
+
+        private Object delegate(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException exception){
+                throw exception.getTargetException();
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.api.MoviePedia.util.mapper;
 
+import com.api.MoviePedia.enumeration.ImageRendition;
 import com.api.MoviePedia.model.actor.ActorCreationDto;
 import com.api.MoviePedia.model.actor.ActorRetrievalDto;
 import com.api.MoviePedia.repository.model.ActorEntity;
@@ -12,16 +13,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.Set;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", imports = ImageRendition.class)
 public abstract class ActorMapper {
     @Autowired
     private FileStorageService fileStorageService;
 
     @Mapping(target = "imgurImageEntity", expression = "java(imgurImageEntity)")
     @Mapping(target = "id", expression = "java(id)")
+    @Mapping(target = "version", expression = "java(version)")
     @Mapping(target = "movies", expression = "java(movies)")
-    public abstract ActorEntity creationDtoToEntity(ActorCreationDto creationDto, Long id, ImgurImageEntity imgurImageEntity, Set<MovieEntity> movies);
+    public abstract ActorEntity creationDtoToEntity(ActorCreationDto creationDto, Long id, Long version, ImgurImageEntity imgurImageEntity, Set<MovieEntity> movies);
 
     @Mapping(target = "pictureFilePath", expression = "java(imgurImageLink)")
+    @Mapping(target = "thumbnailFilePath", expression = "java(entity.getImgurImageEntity() == null ? null : entity.getImgurImageEntity().getRenditionLink(ImageRendition.THUMBNAIL))")
+    @Mapping(target = "cardFilePath", expression = "java(entity.getImgurImageEntity() == null ? null : entity.getImgurImageEntity().getRenditionLink(ImageRendition.CARD))")
+    @Mapping(target = "pictureStatus", source = "entity.imgurImageEntity.status")
     public abstract ActorRetrievalDto entityToRetrievalDto(ActorEntity entity, String imgurImageLink);
 }
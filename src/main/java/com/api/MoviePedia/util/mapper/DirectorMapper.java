@@ -1,5 +1,6 @@
 package com.api.MoviePedia.util.mapper;
 
+import com.api.MoviePedia.enumeration.ImageRendition;
 import com.api.MoviePedia.model.director.DirectorCreationDto;
 import com.api.MoviePedia.model.director.DirectorRetrievalDto;
 import com.api.MoviePedia.repository.model.DirectorEntity;
@@ -10,13 +11,17 @@ import org.mapstruct.Mapping;
 
 import java.util.Set;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", imports = ImageRendition.class)
 public abstract class DirectorMapper {
     @Mapping(target = "pictureFilePath", expression = "java(imgurImageLink)")
+    @Mapping(target = "thumbnailFilePath", expression = "java(entity.getImgurImageEntity() == null ? null : entity.getImgurImageEntity().getRenditionLink(ImageRendition.THUMBNAIL))")
+    @Mapping(target = "cardFilePath", expression = "java(entity.getImgurImageEntity() == null ? null : entity.getImgurImageEntity().getRenditionLink(ImageRendition.CARD))")
+    @Mapping(target = "pictureStatus", source = "entity.imgurImageEntity.status")
     public abstract DirectorRetrievalDto entityToRetrievalDto(DirectorEntity  entity, String imgurImageLink);
 
     @Mapping(target = "imgurImageEntity", expression = "java(imgurImageEntity)")
     @Mapping(target = "id", expression = "java(id)")
+    @Mapping(target = "version", expression = "java(version)")
     @Mapping(target = "movies", expression = "java(movies)")
-    public abstract DirectorEntity creationDtoToEntity(DirectorCreationDto directorCreationDto, Long id, ImgurImageEntity imgurImageEntity, Set<MovieEntity> movies);
+    public abstract DirectorEntity creationDtoToEntity(DirectorCreationDto directorCreationDto, Long id, Long version, ImgurImageEntity imgurImageEntity, Set<MovieEntity> movies);
 }
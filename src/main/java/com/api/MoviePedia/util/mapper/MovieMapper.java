@@ -1,5 +1,8 @@
 package com.api.MoviePedia.util.mapper;
 
+import com.api.MoviePedia.enumeration.ImageRendition;
+import com.api.MoviePedia.model.actor.ActorRetrievalDto;
+import com.api.MoviePedia.model.director.DirectorRetrievalDto;
 import com.api.MoviePedia.model.movie.MovieCreationDto;
 import com.api.MoviePedia.model.movie.MovieRetrievalDto;
 import com.api.MoviePedia.repository.model.ActorEntity;
@@ -9,16 +12,26 @@ import com.api.MoviePedia.repository.model.MovieEntity;
 import com.api.MoviePedia.repository.model.ReviewEntity;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.Set;
 
-@Mapper(componentModel = "spring", uses = {ActorMapper.class, DirectorMapper.class})
+@Mapper(componentModel = "spring", imports = ImageRendition.class)
 public abstract class MovieMapper {
+    @Autowired
+    private ActorMapper actorMapper;
+
+    @Autowired
+    private DirectorMapper directorMapper;
 
     @Mapping(target = "pictureFilePath", expression = "java(imgurImageLink)")
+    @Mapping(target = "thumbnailFilePath", expression = "java(entity.getImgurImageEntity() == null ? null : entity.getImgurImageEntity().getRenditionLink(ImageRendition.THUMBNAIL))")
+    @Mapping(target = "cardFilePath", expression = "java(entity.getImgurImageEntity() == null ? null : entity.getImgurImageEntity().getRenditionLink(ImageRendition.CARD))")
+    @Mapping(target = "pictureStatus", source = "entity.imgurImageEntity.status")
     public abstract MovieRetrievalDto entityToRetrievalDto(MovieEntity entity, String imgurImageLink);
 
     @Mapping(target = "id", expression = "java(id)")
+    @Mapping(target = "version", expression = "java(version)")
     @Mapping(target = "totalRating", expression = "java(totalRating)")
     @Mapping(target = "imgurImageEntity", expression = "java(imgurImageEntity)")
     @Mapping(target = "totalVotes", expression = "java(totalVotes)")
@@ -26,7 +39,20 @@ public abstract class MovieMapper {
     @Mapping(target = "director", expression = "java(director)")
     @Mapping(target = "actors", expression = "java(actors)")
     @Mapping(target = "reviews", expression = "java(reviews)")
-    public abstract MovieEntity creationDtoToEntity(MovieCreationDto movieCreationDto, Long id, ImgurImageEntity imgurImageEntity,
+    @Mapping(target = "updatedAt", ignore = true)
+    public abstract MovieEntity creationDtoToEntity(MovieCreationDto movieCreationDto, Long id, Long version, ImgurImageEntity imgurImageEntity,
                                                     Integer totalRating, Integer totalVotes, Double rating,
                                                     DirectorEntity director, Set<ActorEntity> actors, Set<ReviewEntity> reviews);
+
+    protected DirectorRetrievalDto directorEntityToRetrievalDto(DirectorEntity director){
+        return director == null ? null : directorMapper.entityToRetrievalDto(director, imageLink(director.getImgurImageEntity()));
+    }
+
+    protected ActorRetrievalDto actorEntityToRetrievalDto(ActorEntity actor){
+        return actor == null ? null : actorMapper.entityToRetrievalDto(actor, imageLink(actor.getImgurImageEntity()));
+    }
+
+    private String imageLink(ImgurImageEntity imgurImageEntity){
+        return imgurImageEntity == null ? null : imgurImageEntity.getLink();
+    }
 }
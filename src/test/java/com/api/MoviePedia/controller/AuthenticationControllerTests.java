@@ -0,0 +1,99 @@
+package com.api.MoviePedia.controller;
+
+import com.api.MoviePedia.enumeration.Role;
+import com.api.MoviePedia.repository.RefreshTokenRepository;
+import com.api.MoviePedia.repository.UserRepository;
+import com.api.MoviePedia.repository.model.UserEntity;
+import com.api.MoviePedia.service.JWTService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static com.api.MoviePedia.util.SqlStatementAssertions.assertStatementCount;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class AuthenticationControllerTests {
+    private static final String USERNAME = "moviegoer";
+    private static final String PASSWORD = "popcorn";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private BCryptPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JWTService jwtService;
+
+    private UserEntity user;
+
+    @BeforeEach
+    void setUp(){
+        user = userRepository.save(new UserEntity(null, "Movie", "Goer", null, "moviegoer@example.com", USERNAME,
+                passwordEncoder.encode(PASSWORD), Role.ROLE_USER, null, null, null));
+    }
+
+    @AfterEach
+    void tearDown(){
+        jwtService.evictRefreshTokensByUserId(user.getId());
+        refreshTokenRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void loginTakesOneStatementOnceARefreshTokenExists() throws Exception {
+        login();
+
+        MvcResult mvcResult = login();
+
+        // the user and their refresh token in a single left join
+        assertStatementCount(1, mvcResult);
+    }
+
+    @Test
+    void refreshTakesNoStatementWhenTheTokenIsCachedAndOneOtherwise() throws Exception {
+        String refreshToken = JsonPath.read(login().getResponse().getContentAsString(), "$.refreshToken");
+
+        assertStatementCount(0, refresh(refreshToken));
+
+        jwtService.evictRefreshTokensByUserId(user.getId());
+        // the token with its user join-fetched
+        assertStatementCount(1, refresh(refreshToken));
+        assertStatementCount(0, refresh(refreshToken));
+    }
+
+    private MvcResult login() throws Exception {
+        return mockMvc.perform(post("/api/v1/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\": \"" + USERNAME + "\", \"password\": \"" + PASSWORD + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+
+    private MvcResult refresh(String refreshToken) throws Exception {
+        return mockMvc.perform(post("/api/v1/refresh/token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\": \"" + refreshToken + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+}
@@ -0,0 +1,126 @@
+package com.api.MoviePedia.controller;
+
+import com.api.MoviePedia.enumeration.Genre;
+import com.api.MoviePedia.enumeration.ImageStatus;
+import com.api.MoviePedia.repository.model.ActorEntity;
+import com.api.MoviePedia.repository.model.DirectorEntity;
+import com.api.MoviePedia.repository.model.ImgurImageEntity;
+import com.api.MoviePedia.repository.model.MovieEntity;
+import com.api.MoviePedia.util.SqlStatementStatistics;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.api.MoviePedia.util.SqlStatementAssertions.assertNoRepeatedStatements;
+import static com.api.MoviePedia.util.SqlStatementAssertions.assertStatementCount;
+import static com.api.MoviePedia.util.SqlStatementAssertions.statisticsOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class MovieControllerTests {
+    private static final int MOVIE_COUNT = 12;
+    private static final int ACTORS_PER_MOVIE = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private DirectorEntity director;
+    private final List<MovieEntity> movies = new ArrayList<>();
+
+    @BeforeEach
+    void setUp(){
+        transactionTemplate.executeWithoutResult(status -> {
+            director = new DirectorEntity(null, null, "Greta", "Gerwig", null, null, null, image("director"));
+            entityManager.persist(director);
+            for (int movieIndex = 0; movieIndex < MOVIE_COUNT; movieIndex++) {
+                Set<ActorEntity> actors = new HashSet<>();
+                for (int actorIndex = 0; actorIndex < ACTORS_PER_MOVIE; actorIndex++) {
+                    ActorEntity actor = new ActorEntity(null, null, "Actor", movieIndex + "-" + actorIndex, null, null, null,
+                            image("actor-" + movieIndex + "-" + actorIndex));
+                    entityManager.persist(actor);
+                    actors.add(actor);
+                }
+                MovieEntity movie = new MovieEntity(null, null, "Movie " + movieIndex, null, 2000 + movieIndex, Genre.Drama, null, 0, 0, 0.0,
+                        director, actors, null, null, null, null, image("movie-" + movieIndex), null);
+                entityManager.persist(movie);
+                movies.add(movie);
+            }
+        });
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void tearDown(){
+        List.of("movie_actor", "movies", "actors", "directors", "imgur_images").forEach(table -> jdbcTemplate.update("delete from " + table));
+        entityManagerFactory.getCache().evictAll();
+        movies.clear();
+    }
+
+    @Test
+    void countsStatementsAndRowsOfAMovieDetailRequest() throws Exception {
+        MovieEntity movie = movies.get(0);
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/directors/{directorId}/movies/{movieId}", director.getId(), movie.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value(movie.getTitle()))
+                .andReturn();
+
+        // ETag versions, the director, its movies and the actors of the requested movie, pictures joined in
+        assertStatementCount(4, mvcResult);
+        assertEquals(1 + 1 + MOVIE_COUNT + ACTORS_PER_MOVIE, statisticsOf(mvcResult).getRowCount());
+    }
+
+    @Test
+    void countsStatementsIssuedWhileStreamingTheResponseBody() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/movies").param("stream", "NDJSON"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk());
+
+        // the cursor over the movies and one actor batch for the single chunk, instead of one query per movie
+        SqlStatementStatistics statistics = statisticsOf(mvcResult);
+        assertNoRepeatedStatements(2, statistics);
+        assertStatementCount(2, statistics);
+        assertEquals(MOVIE_COUNT + MOVIE_COUNT * ACTORS_PER_MOVIE, statistics.getRowCount());
+    }
+
+    private static ImgurImageEntity image(String id){
+        return new ImgurImageEntity(id, "https://i.imgur.com/" + id + ".png", null, ImageStatus.READY, null, 1,
+                null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,189 @@
+package com.api.MoviePedia.external;
+
+import com.api.MoviePedia.repository.model.ImgurImageEntity;
+import com.api.MoviePedia.util.bean.ImgurHttpClientBean;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = {ImgurHttpClientBean.class, ImgurApiConnection.class, SimpleMeterRegistry.class},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+                "imgur.client.id=Client-ID test-client",
+                "imgur.access.token=test-token",
+                "imgur.http.response-timeout=500ms",
+                "imgur.circuit-breaker.sliding-window-size=4",
+                "imgur.circuit-breaker.minimum-number-of-calls=4",
+                "imgur.bulkhead.max-concurrent-calls=2",
+                "imgur.bulkhead.max-wait-duration=0ms"
+        })
+class ImgurApiConnectionTests {
+    private static final AtomicInteger responseStatus = new AtomicInteger(200);
+    private static final AtomicLong responseDelayMs = new AtomicLong();
+    private static final AtomicInteger receivedRequests = new AtomicInteger();
+    private static final List<Integer> clientPorts = new CopyOnWriteArrayList<>();
+    private static volatile CountDownLatch responseGate = new CountDownLatch(0);
+    private static final HttpServer imageServer = startImageServer();
+
+    @Autowired
+    private ImgurApiConnection imgurApiConnection;
+
+    @Autowired
+    private CircuitBreaker imgurCircuitBreaker;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void imageServerProperties(DynamicPropertyRegistry registry){
+        registry.add("imgur.api.url", () -> "http://localhost:" + imageServer.getAddress().getPort() + "/3/image");
+    }
+
+    @AfterAll
+    static void stopImageServer(){
+        imageServer.stop(0);
+    }
+
+    @BeforeEach
+    void resetImageServer(){
+        responseStatus.set(200);
+        responseDelayMs.set(0);
+        receivedRequests.set(0);
+        clientPorts.clear();
+        responseGate = new CountDownLatch(0);
+        imgurCircuitBreaker.reset();
+    }
+
+    @Test
+    void uploadsImagesOverPooledKeepAliveConnection(){
+        for (int upload = 0; upload < 3; upload++) {
+            ImgurImageEntity imgurImageEntity = imgurApiConnection.saveImageToImgur(new ByteArrayResource(new byte[]{1, 2, 3}));
+            assertEquals("stub-image", imgurImageEntity.getId());
+            assertEquals("http://localhost/stub-image.png", imgurImageEntity.getLink());
+            assertEquals("stub-delete-hash", imgurImageEntity.getDeleteHash());
+        }
+
+        assertEquals(3, receivedRequests.get());
+        assertEquals(1, new HashSet<>(clientPorts).size());
+        assertEquals(3, meterRegistry.get("imgur.requests").tag("operation", "upload").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void failsWithinResponseTimeoutWhenImageHostHangs(){
+        responseDelayMs.set(3000);
+
+        long startedAt = System.nanoTime();
+        assertThrows(ResourceAccessException.class, () -> imgurApiConnection.saveImageToImgur(new ByteArrayResource(new byte[]{1, 2, 3})));
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt) < 2000);
+    }
+
+    @Test
+    void opensCircuitAfterRepeatedServerErrors(){
+        responseStatus.set(503);
+        for (int attempt = 0; attempt < 4; attempt++) {
+            assertThrows(HttpServerErrorException.class, () -> imgurApiConnection.deleteImageByHash("stub-delete-hash"));
+        }
+
+        assertThrows(CallNotPermittedException.class, () -> imgurApiConnection.deleteImageByHash("stub-delete-hash"));
+        assertEquals(CircuitBreaker.State.OPEN, imgurCircuitBreaker.getState());
+        assertEquals(4, receivedRequests.get());
+    }
+
+    @Test
+    void keepsCircuitClosedOnClientErrors(){
+        responseStatus.set(404);
+        for (int attempt = 0; attempt < 6; attempt++) {
+            assertThrows(HttpClientErrorException.class, () -> imgurApiConnection.deleteImageByHash("missing-delete-hash"));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, imgurCircuitBreaker.getState());
+        assertEquals(6, receivedRequests.get());
+    }
+
+    @Test
+    void rejectsCallsBeyondBulkheadLimit() throws Exception {
+        responseGate = new CountDownLatch(1);
+        CompletableFuture<ImgurImageEntity> firstUpload = CompletableFuture.supplyAsync(() -> imgurApiConnection.saveImageToImgur(new ByteArrayResource(new byte[]{1})));
+        CompletableFuture<ImgurImageEntity> secondUpload = CompletableFuture.supplyAsync(() -> imgurApiConnection.saveImageToImgur(new ByteArrayResource(new byte[]{2})));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (receivedRequests.get() < 2 && System.nanoTime() < deadline){
+            Thread.sleep(10);
+        }
+
+        assertThrows(BulkheadFullException.class, () -> imgurApiConnection.saveImageToImgur(new ByteArrayResource(new byte[]{3})));
+        responseGate.countDown();
+        assertEquals("stub-image", firstUpload.get(2, TimeUnit.SECONDS).getId());
+        assertEquals("stub-image", secondUpload.get(2, TimeUnit.SECONDS).getId());
+        assertEquals(2, receivedRequests.get());
+    }
+
+    private static HttpServer startImageServer(){
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/3/image", ImgurApiConnectionTests::handleImageRequest);
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.start();
+            return server;
+        } catch (IOException exception){
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static void handleImageRequest(HttpExchange exchange) throws IOException {
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        receivedRequests.incrementAndGet();
+        try (InputStream requestBody = exchange.getRequestBody()){
+            requestBody.readAllBytes();
+        }
+        try {
+            Thread.sleep(responseDelayMs.get());
+            responseGate.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception){
+            Thread.currentThread().interrupt();
+        }
+        byte[] responseBody = responseStatus.get() == 200
+                ? "{\"data\":{\"id\":\"stub-image\",\"link\":\"http://localhost/stub-image.png\",\"deleteHash\":\"stub-delete-hash\"}}".getBytes(StandardCharsets.UTF_8)
+                : "{}".getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(responseStatus.get(), responseBody.length);
+        try (OutputStream outputStream = exchange.getResponseBody()){
+            outputStream.write(responseBody);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.api.MoviePedia.security.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RateLimitingFilterTests {
+    private static final String CLIENT_ADDRESS = "203.0.113.7";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RateLimitingFilter rateLimitingFilter;
+
+    @BeforeEach
+    void setUp(){
+        rateLimitingFilter = new RateLimitingFilter(new ObjectMapper().findAndRegisterModules(), meterRegistry);
+        ReflectionTestUtils.setField(rateLimitingFilter, "rateLimitEnabled", true);
+        ReflectionTestUtils.setField(rateLimitingFilter, "loginCapacity", 1);
+        ReflectionTestUtils.setField(rateLimitingFilter, "loginPeriodMs", 60_000L);
+        ReflectionTestUtils.setField(rateLimitingFilter, "movieSearchCapacity", 2);
+        ReflectionTestUtils.setField(rateLimitingFilter, "movieSearchPeriodMs", 60_000L);
+        ReflectionTestUtils.setField(rateLimitingFilter, "movieListingCapacity", 3);
+        ReflectionTestUtils.setField(rateLimitingFilter, "movieListingPeriodMs", 60_000L);
+        ReflectionTestUtils.setField(rateLimitingFilter, "defaultCapacity", 100);
+        ReflectionTestUtils.setField(rateLimitingFilter, "defaultPeriodMs", 60_000L);
+        rateLimitingFilter.initializeRateLimitRules();
+    }
+
+    @AfterEach
+    void tearDown(){
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void appliesTheFirstMatchingRouteRuleBeforeTheDefault() throws Exception {
+        assertEquals(List.of(HttpStatus.OK.value(), HttpStatus.TOO_MANY_REQUESTS.value()), statuses("POST", "/api/v1/login", 2));
+        assertEquals(List.of(HttpStatus.OK.value(), HttpStatus.OK.value(), HttpStatus.TOO_MANY_REQUESTS.value()),
+                statuses("POST", "/api/v1/movies/search", 3));
+        assertEquals(List.of(HttpStatus.OK.value(), HttpStatus.OK.value(), HttpStatus.OK.value(), HttpStatus.TOO_MANY_REQUESTS.value()),
+                statuses("GET", "/api/v1/movies", 4));
+
+        // other methods and sub-paths of the limited routes fall through to the default rule
+        assertEquals(List.of(HttpStatus.OK.value(), HttpStatus.OK.value()), statuses("GET", "/api/v1/login", 2));
+        assertEquals(List.of(HttpStatus.OK.value(), HttpStatus.OK.value(), HttpStatus.OK.value(), HttpStatus.OK.value()),
+                statuses("GET", "/api/v1/movies/trending", 4));
+        assertEquals(1.0, meterRegistry.counter("rate_limit.rejected", "rule", "login").count());
+        assertEquals(0.0, meterRegistry.counter("rate_limit.rejected", "rule", "default").count());
+    }
+
+    @Test
+    void rejectsWithRetryAfterAndAnErrorBody() throws Exception {
+        filter("POST", "/api/v1/login");
+
+        MockHttpServletResponse response = filter("POST", "/api/v1/login");
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+        assertEquals("60", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), new ObjectMapper().readTree(response.getContentAsString()).get("status").asInt());
+    }
+
+    @Test
+    void keepsSeparateBucketsPerClient() throws Exception {
+        assertEquals(HttpStatus.OK.value(), filter("POST", "/api/v1/login").getStatus());
+
+        MockHttpServletRequest otherAddress = request("POST", "/api/v1/login");
+        otherAddress.setRemoteAddr("198.51.100.23");
+        assertEquals(HttpStatus.OK.value(), filter(otherAddress).getStatus());
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(42L, null, List.of()));
+        assertEquals(HttpStatus.OK.value(), filter("POST", "/api/v1/login").getStatus());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), filter("POST", "/api/v1/login").getStatus());
+    }
+
+    @Test
+    void passesEveryRequestWhenDisabled() throws Exception {
+        ReflectionTestUtils.setField(rateLimitingFilter, "rateLimitEnabled", false);
+
+        assertEquals(List.of(HttpStatus.OK.value(), HttpStatus.OK.value(), HttpStatus.OK.value()), statuses("POST", "/api/v1/login", 3));
+    }
+
+    private List<Integer> statuses(String method, String path, int requestCount) throws Exception {
+        Integer[] statuses = new Integer[requestCount];
+        for (int request = 0; request < requestCount; request++){
+            statuses[request] = filter(method, path).getStatus();
+        }
+        return List.of(statuses);
+    }
+
+    private MockHttpServletResponse filter(String method, String path) throws Exception {
+        return filter(request(method, path));
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+        rateLimitingFilter.doFilter(request, response, filterChain);
+        if (response.getStatus() == HttpStatus.OK.value()){
+            assertNotNull(filterChain.getRequest(), "Admitted request did not reach the filter chain");
+        } else {
+            assertNull(filterChain.getRequest(), "Rejected request reached the filter chain");
+        }
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String path){
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setServletPath(path);
+        request.setRemoteAddr(CLIENT_ADDRESS);
+        return request;
+    }
+}
@@ -0,0 +1,84 @@
+package com.api.MoviePedia.service.impl;
+
+import com.api.MoviePedia.util.NoOpTransactionManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncIoServiceImplTests {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AsyncIoServiceImpl asyncIoService;
+
+    @BeforeEach
+    void setUp(){
+        asyncIoService = new AsyncIoServiceImpl(meterRegistry, new NoOpTransactionManager());
+        ReflectionTestUtils.setField(asyncIoService, "poolSize", 1);
+        ReflectionTestUtils.setField(asyncIoService, "queueCapacity", 1);
+        ReflectionTestUtils.setField(asyncIoService, "timeoutMs", 60_000L);
+        ReflectionTestUtils.setField(asyncIoService, "virtualThreadsEnabled", false);
+    }
+
+    @AfterEach
+    void tearDown(){
+        asyncIoService.shutdownIoExecutor();
+    }
+
+    @Test
+    void cancelsTheTimeoutOnceTheTaskCompletes() throws Exception {
+        asyncIoService.initializeIoExecutor();
+
+        assertEquals("uploaded", asyncIoService.submit(() -> "uploaded").get(5, TimeUnit.SECONDS));
+
+        ScheduledThreadPoolExecutor timeoutScheduler = (ScheduledThreadPoolExecutor) ReflectionTestUtils.getField(asyncIoService, "timeoutScheduler");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!timeoutScheduler.getQueue().isEmpty() && System.nanoTime() < deadline){
+            Thread.sleep(5);
+        }
+        assertTrue(timeoutScheduler.getQueue().isEmpty(), "Completed task left its timeout scheduled");
+        assertEquals(0.0, meterRegistry.counter("async.io.timed_out").count());
+    }
+
+    @Test
+    void interruptsTheWorkerAndFailsWithTimeoutWhenTheTaskOutlivesIt() throws Exception {
+        ReflectionTestUtils.setField(asyncIoService, "timeoutMs", 50L);
+        asyncIoService.initializeIoExecutor();
+        CountDownLatch neverReleased = new CountDownLatch(1);
+        AtomicBoolean workerInterrupted = new AtomicBoolean();
+
+        CompletableFuture<String> upload = asyncIoService.submit(() -> {
+            try {
+                neverReleased.await();
+                return "uploaded";
+            } catch (InterruptedException exception){
+                workerInterrupted.set(true);
+                throw exception;
+            }
+        });
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> upload.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, exception.getCause());
+        assertEquals(1.0, meterRegistry.counter("async.io.timed_out").count());
+
+        // the interrupt is cleared before the pooled worker runs the next task
+        ReflectionTestUtils.setField(asyncIoService, "timeoutMs", 60_000L);
+        assertFalse(asyncIoService.submit(() -> Thread.currentThread().isInterrupted()).get(5, TimeUnit.SECONDS));
+        assertTrue(workerInterrupted.get());
+    }
+}
@@ -0,0 +1,88 @@
+package com.api.MoviePedia.service.impl;
+
+import com.api.MoviePedia.enumeration.ImageRendition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImageRenditionServiceImplTests {
+    @TempDir
+    Path spoolDirectory;
+
+    private ImageRenditionServiceImpl imageRenditionService;
+
+    @BeforeEach
+    void setUp(){
+        imageRenditionService = new ImageRenditionServiceImpl();
+        ReflectionTestUtils.setField(imageRenditionService, "poolSize", 1);
+        ReflectionTestUtils.setField(imageRenditionService, "queueCapacity", 4);
+        ReflectionTestUtils.setField(imageRenditionService, "maxPixels", 1_000_000L);
+        imageRenditionService.initializeRenditionExecutor();
+    }
+
+    @AfterEach
+    void tearDown(){
+        imageRenditionService.shutdownRenditionExecutor();
+    }
+
+    @Test
+    void resizesRenditionsThePictureDoesNotFitWithin() throws IOException {
+        Path picture = png(400, 600);
+
+        Map<ImageRendition, Resource> renditions = imageRenditionService.generateRenditions(picture);
+
+        assertEquals(Set.of(ImageRendition.THUMBNAIL, ImageRendition.FULL), renditions.keySet());
+        BufferedImage thumbnail = read(renditions.get(ImageRendition.THUMBNAIL));
+        assertEquals(200, thumbnail.getWidth());
+        assertEquals(300, thumbnail.getHeight());
+        assertEquals(picture.toFile(), renditions.get(ImageRendition.FULL).getFile());
+    }
+
+    @Test
+    void subsamplesPicturesAboveThePixelLimitWhileDecoding() throws IOException {
+        ReflectionTestUtils.setField(imageRenditionService, "maxPixels", 10_000L);
+
+        Map<ImageRendition, Resource> renditions = imageRenditionService.generateRenditions(png(400, 600));
+
+        BufferedImage thumbnail = read(renditions.get(ImageRendition.THUMBNAIL));
+        assertTrue((long) thumbnail.getWidth() * thumbnail.getHeight() <= 10_000L);
+        assertEquals(2.0 / 3.0, (double) thumbnail.getWidth() / thumbnail.getHeight(), 0.02);
+    }
+
+    @Test
+    void keepsUndecodableContentAsTheFullRendition() throws IOException {
+        Path contents = Files.write(spoolDirectory.resolve("contents.upload"), new byte[]{1, 2, 3, 4});
+
+        Map<ImageRendition, Resource> renditions = imageRenditionService.generateRenditions(contents);
+
+        assertEquals(Set.of(ImageRendition.FULL), renditions.keySet());
+        assertEquals(contents.toFile(), renditions.get(ImageRendition.FULL).getFile());
+    }
+
+    private Path png(int width, int height) throws IOException {
+        Path picture = spoolDirectory.resolve("picture-" + width + "x" + height + ".upload");
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", picture.toFile());
+        return picture;
+    }
+
+    private static BufferedImage read(Resource rendition) throws IOException {
+        try (InputStream inputStream = rendition.getInputStream()){
+            return ImageIO.read(inputStream);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.api.MoviePedia.service.impl;
+
+import com.api.MoviePedia.enumeration.ImageStatus;
+import com.api.MoviePedia.repository.ImgurImageRepository;
+import com.api.MoviePedia.repository.model.ImgurImageEntity;
+import com.api.MoviePedia.service.FileStorageService;
+import com.api.MoviePedia.service.ImageDeletionOutboxService;
+import com.api.MoviePedia.service.ImageRenditionService;
+import com.api.MoviePedia.util.NoOpTransactionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ImageUploadServiceImplTests {
+    private static final byte[] PICTURE = {1, 2, 3, 4};
+
+    @TempDir
+    Path spoolDirectory;
+
+    private final ImgurImageRepository imgurImageRepository = mock(ImgurImageRepository.class);
+    private final ImageRenditionService imageRenditionService = mock(ImageRenditionService.class);
+    private final TaskScheduler taskScheduler = mock(TaskScheduler.class);
+    private ImageUploadServiceImpl imageUploadService;
+
+    @BeforeEach
+    void setUp(){
+        imageUploadService = new ImageUploadServiceImpl(mock(FileStorageService.class), mock(ImageDeletionOutboxService.class),
+                imageRenditionService, imgurImageRepository, taskScheduler, new NoOpTransactionManager());
+        ReflectionTestUtils.setField(imageUploadService, "poolSize", 1);
+        ReflectionTestUtils.setField(imageUploadService, "queueCapacity", 1);
+        ReflectionTestUtils.setField(imageUploadService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(imageUploadService, "initialBackoffMs", 1L);
+        ReflectionTestUtils.setField(imageUploadService, "maxImageSize", DataSize.ofKilobytes(1));
+        ReflectionTestUtils.setField(imageUploadService, "spoolDirectory", spoolDirectory.toString());
+        ReflectionTestUtils.setField(imageUploadService, "virtualThreadsEnabled", false);
+        imageUploadService.initializeUploadExecutor();
+    }
+
+    @AfterEach
+    void tearDown(){
+        imageUploadService.shutdownUploadExecutor();
+    }
+
+    @Test
+    void reusesTheRowOfAConcurrentUploadThatWonTheInsertRace() throws IOException {
+        ImgurImageEntity concurrentImage = new ImgurImageEntity("concurrent", "link", null, ImageStatus.READY, null, 1,
+                null, null, null, null, null, null);
+        when(imgurImageRepository.findByContentHash(anyString())).thenAnswer(invocation -> {
+            concurrentImage.setContentHash(invocation.getArgument(0));
+            return Optional.empty();
+        }).thenReturn(Optional.of(concurrentImage));
+        when(imgurImageRepository.findByIdForUpdate("concurrent")).thenReturn(Optional.of(concurrentImage));
+        when(imgurImageRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("uk_imgur_images_content_hash"));
+
+        ImgurImageEntity acquiredImage = imageUploadService.withSpooledImage(new ByteArrayResource(PICTURE), imageUploadService::acquireImage);
+
+        assertSame(concurrentImage, acquiredImage);
+        assertEquals(2, concurrentImage.getReferenceCount());
+        verify(imgurImageRepository, times(1)).saveAndFlush(any());
+        assertTrue(isEmpty(spoolDirectory));
+    }
+
+    @Test
+    void deletesTheSpooledImageWhenTheUnitOfWorkFails(){
+        when(imgurImageRepository.findByContentHash(anyString())).thenReturn(Optional.empty());
+        when(imgurImageRepository.saveAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertThrows(IllegalStateException.class, () -> imageUploadService.withSpooledImage(new ByteArrayResource(PICTURE), spooledImage -> {
+            imageUploadService.acquireImage(spooledImage);
+            throw new IllegalStateException("rolled back");
+        }));
+
+        assertTrue(isEmpty(spoolDirectory));
+    }
+
+    @Test
+    void givesUpWhenTheContentHashKeepsConflicting(){
+        when(imgurImageRepository.findByContentHash(anyString())).thenReturn(Optional.empty());
+        when(imgurImageRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("uk_imgur_images_content_hash"));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> imageUploadService.withSpooledImage(new ByteArrayResource(PICTURE), imageUploadService::acquireImage));
+
+        verify(imgurImageRepository, times(3)).saveAndFlush(any());
+        assertTrue(isEmpty(spoolDirectory));
+    }
+
+    @Test
+    void marksTheImageFailedWithoutRetryingWhenRenderingThrowsAnError() throws IOException {
+        when(imgurImageRepository.findByContentHash(anyString())).thenReturn(Optional.empty());
+        when(imgurImageRepository.saveAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(imgurImageRepository.findById(anyString())).thenAnswer(invocation -> Optional.of(new ImgurImageEntity(invocation.getArgument(0),
+                null, null, ImageStatus.PENDING, "hash", 1, null, null, null, null, "spool", 0)));
+        when(imageRenditionService.generateRenditions(any())).thenThrow(new OutOfMemoryError("Java heap space"));
+
+        ImgurImageEntity pendingImage = imageUploadService.withSpooledImage(new ByteArrayResource(PICTURE), imageUploadService::acquireImage);
+
+        verify(imgurImageRepository, timeout(2000)).findById(pendingImage.getId());
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+        assertTrue(isEmpty(spoolDirectory));
+    }
+
+    private static boolean isEmpty(Path directory){
+        try (Stream<Path> files = Files.list(directory)){
+            return files.findAny().isEmpty();
+        } catch (IOException exception){
+            throw new IllegalStateException(exception);
+        }
+    }
+}
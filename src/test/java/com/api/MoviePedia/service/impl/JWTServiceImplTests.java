@@ -0,0 +1,91 @@
+package com.api.MoviePedia.service.impl;
+
+import com.api.MoviePedia.enumeration.Role;
+import com.api.MoviePedia.exception.TokenRefreshException;
+import com.api.MoviePedia.repository.RefreshTokenRepository;
+import com.api.MoviePedia.repository.UserRepository;
+import com.api.MoviePedia.repository.model.RefreshTokenEntity;
+import com.api.MoviePedia.repository.model.UserEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class JWTServiceImplTests {
+    private static final String ACCESS_TOKEN_KEY = "access-token-signing-key-for-tests-0123456789";
+    private static final String REFRESH_TOKEN_KEY = "refresh-token-signing-key-for-tests-0123456789";
+    private static final String LEGACY_REFRESH_TOKEN = "3f2b8c1e-9a4d-4e7f-b0c2-5d6e7f8a9b0c";
+
+    private final RefreshTokenRepository refreshTokenRepository = mock(RefreshTokenRepository.class);
+    private final UserEntity user = new UserEntity(7L, "Movie", "Goer", null, "moviegoer@example.com", "moviegoer", "hash",
+            Role.ROLE_USER, null, null, null);
+    private JWTServiceImpl jwtService;
+
+    @BeforeEach
+    void setUp(){
+        jwtService = new JWTServiceImpl(refreshTokenRepository, mock(UserRepository.class), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtService, "accessTokenExpirationTime", 300_000);
+        ReflectionTestUtils.setField(jwtService, "refreshTokenExpirationTime", 10_800_000);
+        ReflectionTestUtils.setField(jwtService, "secretKey", ACCESS_TOKEN_KEY);
+        ReflectionTestUtils.setField(jwtService, "refreshTokenSecretKey", REFRESH_TOKEN_KEY);
+        ReflectionTestUtils.setField(jwtService, "verifiedTokenCacheMaximumSize", 100L);
+        ReflectionTestUtils.setField(jwtService, "refreshTokenCacheMaximumSize", 100L);
+        ReflectionTestUtils.setField(jwtService, "refreshTokenCacheExpireAfterWriteMs", 300_000L);
+    }
+
+    @Test
+    void refusesToStartWithoutADedicatedRefreshTokenKey(){
+        ReflectionTestUtils.setField(jwtService, "refreshTokenSecretKey", "");
+        assertThrows(IllegalStateException.class, () -> jwtService.initializeTokenVerification());
+
+        ReflectionTestUtils.setField(jwtService, "refreshTokenSecretKey", ACCESS_TOKEN_KEY);
+        assertThrows(IllegalStateException.class, () -> jwtService.initializeTokenVerification());
+    }
+
+    @Test
+    void rejectsMalformedRefreshTokensWithoutADatabaseLookup(){
+        jwtService.initializeTokenVerification();
+
+        assertThrows(TokenRefreshException.class, () -> jwtService.refreshAccessToken("not-a-refresh-token"));
+        verifyNoInteractions(refreshTokenRepository);
+    }
+
+    @Test
+    void acceptsLegacyRefreshTokensUntilTheirStoredExpiration(){
+        jwtService.initializeTokenVerification();
+        RefreshTokenEntity legacyRefreshToken = new RefreshTokenEntity(1L, LEGACY_REFRESH_TOKEN, Instant.now().plus(1, ChronoUnit.HOURS), user);
+        when(refreshTokenRepository.findByToken(LEGACY_REFRESH_TOKEN)).thenReturn(Optional.of(legacyRefreshToken));
+
+        assertNotNull(jwtService.refreshAccessToken(LEGACY_REFRESH_TOKEN));
+        assertEquals(LEGACY_REFRESH_TOKEN, jwtService.resolveRefreshToken(user, legacyRefreshToken));
+
+        jwtService.evictRefreshTokensByUserId(user.getId());
+        legacyRefreshToken.setExpirationDate(Instant.now().minus(1, ChronoUnit.MINUTES));
+        assertThrows(TokenRefreshException.class, () -> jwtService.refreshAccessToken(LEGACY_REFRESH_TOKEN));
+        verify(refreshTokenRepository).deleteById(1L);
+    }
+
+    @Test
+    void rotatesExpiredLegacyRefreshTokensOnLogin(){
+        jwtService.initializeTokenVerification();
+        RefreshTokenEntity legacyRefreshToken = new RefreshTokenEntity(1L, LEGACY_REFRESH_TOKEN, Instant.now().minus(1, ChronoUnit.MINUTES), user);
+
+        String refreshToken = jwtService.resolveRefreshToken(user, legacyRefreshToken);
+
+        assertNotNull(jwtService.refreshAccessToken(refreshToken));
+        assertEquals(refreshToken, legacyRefreshToken.getToken());
+        verify(refreshTokenRepository).save(legacyRefreshToken);
+    }
+}
@@ -0,0 +1,135 @@
+package com.api.MoviePedia.service.impl;
+
+import com.api.MoviePedia.enumeration.Genre;
+import com.api.MoviePedia.enumeration.ImageStatus;
+import com.api.MoviePedia.model.movie.MovieRetrievalDto;
+import com.api.MoviePedia.repository.MovieRepository;
+import com.api.MoviePedia.repository.model.ImgurImageEntity;
+import com.api.MoviePedia.repository.model.MovieEntity;
+import com.api.MoviePedia.util.NoOpTransactionManager;
+import com.api.MoviePedia.util.mapper.MovieMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LeaderboardServiceImplTests {
+    private static final int MINIMUM_VOTES = 10;
+
+    private final Map<Long, MovieEntity> storedMovies = new HashMap<>();
+    private LeaderboardServiceImpl leaderboardService;
+
+    @BeforeEach
+    void setUp(){
+        MovieRepository movieRepository = mock(MovieRepository.class);
+        when(movieRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            Iterable<Long> movieIds = invocation.getArgument(0);
+            List<MovieEntity> movies = new ArrayList<>();
+            movieIds.forEach(movieId -> movies.add(storedMovies.get(movieId)));
+            return movies;
+        });
+        MovieMapper movieMapper = mock(MovieMapper.class);
+        when(movieMapper.entityToRetrievalDto(any(), any())).thenAnswer(invocation -> {
+            MovieRetrievalDto movieDto = new MovieRetrievalDto();
+            movieDto.setId(invocation.<MovieEntity>getArgument(0).getId());
+            return movieDto;
+        });
+        leaderboardService = new LeaderboardServiceImpl(movieRepository, movieMapper);
+        ReflectionTestUtils.setField(leaderboardService, "minimumVotes", MINIMUM_VOTES);
+    }
+
+    @Test
+    void pullsScoresWithFewVotesTowardsTheGlobalMean(){
+        rate(1L, Genre.Drama, 10, 1);
+        rate(2L, Genre.Drama, 800, 100);
+        rate(3L, Genre.Drama, 180, 20);
+
+        leaderboardService.rebuildLeaderboards();
+
+        // global mean 990 / 121: the single 10/10 vote scores (10 + 10 * mean) / 11, below the 9/10 average over 20 votes
+        assertEquals(List.of(3L, 1L, 2L), topRatedMovieIds(null));
+    }
+
+    @Test
+    void ranksEqualScoresByVoteCountThenById(){
+        rate(4L, Genre.Comedy, 80, 10);
+        rate(2L, Genre.Comedy, 320, 40);
+        rate(3L, Genre.Comedy, 80, 10);
+
+        leaderboardService.rebuildLeaderboards();
+
+        assertEquals(List.of(2L, 3L, 4L), topRatedMovieIds(null));
+    }
+
+    @Test
+    void keepsASeparateOrderingPerGenre(){
+        rate(1L, Genre.Drama, 90, 10);
+        rate(2L, Genre.Comedy, 100, 10);
+        rate(3L, Genre.Drama, 50, 10);
+
+        leaderboardService.rebuildLeaderboards();
+
+        assertEquals(List.of(2L, 1L, 3L), topRatedMovieIds(null));
+        assertEquals(List.of(1L, 3L), topRatedMovieIds(Genre.Drama));
+        assertEquals(List.of(2L), topRatedMovieIds(Genre.Comedy));
+    }
+
+    @Test
+    void reordersAfterARatingChangeAndDropsRemovedMovies(){
+        rate(1L, Genre.Drama, 90, 10);
+        rate(2L, Genre.Drama, 50, 10);
+        leaderboardService.rebuildLeaderboards();
+
+        rate(2L, Genre.Drama, 1000, 100);
+        leaderboardService.removeMovie(1L);
+        rate(3L, Genre.Drama, 10, 10);
+        leaderboardService.rebuildLeaderboards();
+
+        assertEquals(List.of(2L, 3L), topRatedMovieIds(Genre.Drama));
+    }
+
+    @Test
+    void ignoresChangesFromRolledBackTransactions(){
+        rate(1L, Genre.Drama, 90, 10);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new NoOpTransactionManager());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            rate(2L, Genre.Drama, 100, 10);
+            leaderboardService.removeMovie(1L);
+            status.setRollbackOnly();
+        });
+        leaderboardService.rebuildLeaderboards();
+        assertEquals(List.of(1L), topRatedMovieIds(null));
+
+        transactionTemplate.executeWithoutResult(status -> rate(2L, Genre.Drama, 100, 10));
+        leaderboardService.rebuildLeaderboards();
+        assertEquals(List.of(2L, 1L), topRatedMovieIds(null));
+    }
+
+    private void rate(Long movieId, Genre genre, int totalRating, int totalVotes){
+        MovieEntity movie = new MovieEntity();
+        movie.setId(movieId);
+        movie.setGenre(genre);
+        movie.setTotalRating(totalRating);
+        movie.setTotalVotes(totalVotes);
+        movie.setImgurImageEntity(new ImgurImageEntity("image-" + movieId, "https://i.imgur.com/" + movieId + ".png", null, ImageStatus.READY,
+                null, 1, null, null, null, null, null, null));
+        storedMovies.put(movieId, movie);
+        leaderboardService.updateMovie(movie);
+    }
+
+    private List<Long> topRatedMovieIds(Genre genre){
+        return leaderboardService.getTopRatedMovies(genre, 0, 10).stream().map(MovieRetrievalDto::getId).toList();
+    }
+}
@@ -0,0 +1,128 @@
+package com.api.MoviePedia.service.impl;
+
+import com.api.MoviePedia.enumeration.ActivityType;
+import com.api.MoviePedia.repository.MovieRepository;
+import com.api.MoviePedia.repository.RatingRepository;
+import com.api.MoviePedia.repository.model.DirectorEntity;
+import com.api.MoviePedia.repository.model.MovieEntity;
+import com.api.MoviePedia.repository.model.RatingEntity;
+import com.api.MoviePedia.repository.model.UserEntity;
+import com.api.MoviePedia.service.ActorService;
+import com.api.MoviePedia.service.DirectorService;
+import com.api.MoviePedia.service.ImageUploadService;
+import com.api.MoviePedia.service.LeaderboardService;
+import com.api.MoviePedia.service.TrendingService;
+import com.api.MoviePedia.service.UserService;
+import com.api.MoviePedia.util.JsonStreamWriter;
+import com.api.MoviePedia.util.NoOpTransactionManager;
+import com.api.MoviePedia.util.jdbc.CursorFetch;
+import com.api.MoviePedia.util.mapper.MovieMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MovieServiceImplTests {
+    private static final long USER_ID = 7L;
+    private static final long DIRECTOR_ID = 1L;
+    private static final long MOVIE_ID = 2L;
+
+    private final MovieRepository movieRepository = mock(MovieRepository.class);
+    private final RatingRepository ratingRepository = mock(RatingRepository.class);
+    private final DirectorService directorService = mock(DirectorService.class);
+    private final UserService userService = mock(UserService.class);
+    private final TrendingService trendingService = mock(TrendingService.class);
+    private final LeaderboardService leaderboardService = mock(LeaderboardService.class);
+    private MovieServiceImpl movieService;
+
+    @BeforeEach
+    void setUp(){
+        movieService = new MovieServiceImpl(movieRepository, ratingRepository, mock(MovieMapper.class), mock(JsonStreamWriter.class), mock(CursorFetch.class),
+                mock(ImageUploadService.class), directorService, mock(ActorService.class), userService, trendingService, leaderboardService,
+                new NoOpTransactionManager());
+        ReflectionTestUtils.setField(movieService, "ratingMaxAttempts", 3);
+        movieService.initializeTransactionTemplate();
+        UserEntity user = new UserEntity();
+        user.setId(USER_ID);
+        when(userService.getUserEntityById(USER_ID)).thenReturn(user);
+        // every attempt reloads the director, as a new transaction would
+        when(directorService.getDirectorEntityById(DIRECTOR_ID)).thenAnswer(invocation -> directorWithMovie(user));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(USER_ID, null, List.of()));
+    }
+
+    @AfterEach
+    void clearSecurityContext(){
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void retriesARatingThatLostAnOptimisticLockRace(){
+        when(movieRepository.save(any())).thenThrow(new ObjectOptimisticLockingFailureException(MovieEntity.class, MOVIE_ID))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        movieService.rateMovieById(DIRECTOR_ID, MOVIE_ID, 9);
+
+        verify(movieRepository, times(2)).save(any());
+        verify(ratingRepository, times(1)).save(any());
+        ArgumentCaptor<MovieEntity> ratedMovie = ArgumentCaptor.forClass(MovieEntity.class);
+        verify(leaderboardService, times(1)).updateMovie(ratedMovie.capture());
+        assertEquals(9, ratedMovie.getValue().getTotalRating());
+        assertEquals(1, ratedMovie.getValue().getTotalVotes());
+        verify(trendingService, times(1)).recordActivity(MOVIE_ID, ActivityType.RATING);
+    }
+
+    @Test
+    void reRatingUpdatesTheExistingRatingInPlace(){
+        when(movieRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        movieService.rateMovieById(DIRECTOR_ID, MOVIE_ID, 9);
+
+        ArgumentCaptor<RatingEntity> savedRating = ArgumentCaptor.forClass(RatingEntity.class);
+        verify(ratingRepository).save(savedRating.capture());
+        assertEquals(11L, savedRating.getValue().getId());
+        assertEquals(9, savedRating.getValue().getRating());
+        verify(ratingRepository, never()).deleteById(any());
+    }
+
+    @Test
+    void givesUpAfterTheConfiguredNumberOfAttempts(){
+        when(movieRepository.save(any())).thenThrow(new ObjectOptimisticLockingFailureException(MovieEntity.class, MOVIE_ID));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> movieService.rateMovieById(DIRECTOR_ID, MOVIE_ID, 9));
+
+        verify(movieRepository, times(3)).save(any());
+        verify(ratingRepository, never()).save(any());
+        verify(leaderboardService, never()).updateMovie(any());
+    }
+
+    private DirectorEntity directorWithMovie(UserEntity user){
+        MovieEntity movie = new MovieEntity();
+        movie.setId(MOVIE_ID);
+        movie.setVersion(4L);
+        movie.setTotalRating(5);
+        movie.setTotalVotes(1);
+        movie.setRating(5.0);
+        movie.setRatings(new HashSet<>(Set.of(new RatingEntity(11L, 5, user, movie, null))));
+        DirectorEntity director = new DirectorEntity();
+        director.setId(DIRECTOR_ID);
+        director.setMovies(new HashSet<>(Set.of(movie)));
+        return director;
+    }
+}
@@ -0,0 +1,97 @@
+package com.api.MoviePedia.service.impl;
+
+import com.api.MoviePedia.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PasswordHashingServiceImplTests {
+    private final BCryptPasswordEncoder bCryptPasswordEncoder = mock(BCryptPasswordEncoder.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch releaseHashing = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+    private PasswordHashingServiceImpl passwordHashingService;
+
+    @BeforeEach
+    void setUp(){
+        when(bCryptPasswordEncoder.encode(anyString())).thenAnswer(invocation -> {
+            releaseHashing.await();
+            return "hash";
+        });
+        passwordHashingService = new PasswordHashingServiceImpl(bCryptPasswordEncoder, meterRegistry);
+        ReflectionTestUtils.setField(passwordHashingService, "poolSize", 1);
+        ReflectionTestUtils.setField(passwordHashingService, "queueCapacity", 1);
+        ReflectionTestUtils.setField(passwordHashingService, "timeoutMs", 5_000L);
+    }
+
+    @AfterEach
+    void tearDown(){
+        releaseHashing.countDown();
+        callers.shutdownNow();
+        passwordHashingService.shutdownHashingExecutor();
+    }
+
+    @Test
+    void rejectsHashingWhenThePoolAndQueueAreFull() throws Exception {
+        passwordHashingService.initializeHashingExecutor();
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordHashingService.encode("first"), callers);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordHashingService.encode("second"), callers);
+        awaitSaturation();
+
+        assertThrows(PasswordHashingUnavailableException.class, () -> passwordHashingService.encode("third"));
+        assertEquals(1.0, meterRegistry.counter("password.hashing.rejected").count());
+
+        releaseHashing.countDown();
+        assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void givesUpOnHashingThatOutlivesTheTimeout(){
+        ReflectionTestUtils.setField(passwordHashingService, "timeoutMs", 50L);
+        passwordHashingService.initializeHashingExecutor();
+
+        assertThrows(PasswordHashingUnavailableException.class, () -> passwordHashingService.encode("slow"));
+        assertEquals(1.0, meterRegistry.counter("password.hashing.rejected").count());
+    }
+
+    @Test
+    void sizesThePoolToTheAvailableProcessorsWhenPoolSizeIsZero(){
+        ReflectionTestUtils.setField(passwordHashingService, "poolSize", 0);
+        passwordHashingService.initializeHashingExecutor();
+
+        ThreadPoolExecutor hashingExecutor = hashingExecutor();
+        assertEquals(Runtime.getRuntime().availableProcessors(), hashingExecutor.getCorePoolSize());
+        assertEquals(Runtime.getRuntime().availableProcessors(), hashingExecutor.getMaximumPoolSize());
+    }
+
+    private void awaitSaturation() throws InterruptedException {
+        ThreadPoolExecutor hashingExecutor = hashingExecutor();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((hashingExecutor.getActiveCount() < 1 || hashingExecutor.getQueue().remainingCapacity() > 0) && System.nanoTime() < deadline){
+            Thread.sleep(5);
+        }
+        assertEquals(0, hashingExecutor.getQueue().remainingCapacity(), "Hashing executor did not saturate");
+    }
+
+    private ThreadPoolExecutor hashingExecutor(){
+        return (ThreadPoolExecutor) ReflectionTestUtils.getField(passwordHashingService, "hashingExecutor");
+    }
+}
@@ -0,0 +1,88 @@
+package com.api.MoviePedia.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DecayingActivityCounterTests {
+    private static final long BUCKET_DURATION_MS = 1_000;
+    private static final long START_MS = 1_000_000;
+    private static final double[] DECAY_FACTORS = {1.0, 0.5, 0.25};
+
+    @Test
+    void sumsActivityRecordedWithinOneBucket(){
+        DecayingActivityCounter counter = new DecayingActivityCounter(DECAY_FACTORS.length, BUCKET_DURATION_MS);
+
+        counter.record(3, START_MS);
+        counter.record(2, START_MS + BUCKET_DURATION_MS - 1);
+
+        assertEquals(5.0, counter.score(START_MS, DECAY_FACTORS));
+    }
+
+    @Test
+    void decaysOlderBucketsByTheirAge(){
+        DecayingActivityCounter counter = new DecayingActivityCounter(DECAY_FACTORS.length, BUCKET_DURATION_MS);
+
+        counter.record(8, START_MS);
+        counter.record(4, START_MS + BUCKET_DURATION_MS);
+
+        assertEquals(8.0 * 0.5 + 4.0, counter.score(START_MS + BUCKET_DURATION_MS, DECAY_FACTORS));
+        assertEquals(8.0 * 0.25 + 4.0 * 0.5, counter.score(START_MS + 2 * BUCKET_DURATION_MS, DECAY_FACTORS));
+    }
+
+    @Test
+    void dropsBucketsOnceTheyFallOutOfTheWindow(){
+        DecayingActivityCounter counter = new DecayingActivityCounter(DECAY_FACTORS.length, BUCKET_DURATION_MS);
+
+        counter.record(8, START_MS);
+
+        assertEquals(0.0, counter.score(START_MS + DECAY_FACTORS.length * BUCKET_DURATION_MS, DECAY_FACTORS));
+    }
+
+    @Test
+    void reusesARotatedSlotWithoutCarryingOverItsOldCount(){
+        DecayingActivityCounter counter = new DecayingActivityCounter(DECAY_FACTORS.length, BUCKET_DURATION_MS);
+        long rotatedMs = START_MS + DECAY_FACTORS.length * BUCKET_DURATION_MS;
+
+        counter.record(8, START_MS);
+        counter.record(1, rotatedMs);
+
+        assertEquals(1.0, counter.score(rotatedMs, DECAY_FACTORS));
+    }
+
+    @Test
+    void countsEveryConcurrentIncrement() throws Exception {
+        DecayingActivityCounter counter = new DecayingActivityCounter(DECAY_FACTORS.length, BUCKET_DURATION_MS);
+        int threadCount = 8;
+        int recordsPerThread = 10_000;
+        CountDownLatch startGate = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<?>> recorders = new ArrayList<>();
+            for (int thread = 0; thread < threadCount; thread++){
+                recorders.add(executor.submit(() -> {
+                    startGate.await();
+                    for (int record = 0; record < recordsPerThread; record++){
+                        counter.record(1, START_MS);
+                    }
+                    return null;
+                }));
+            }
+            startGate.countDown();
+            for (Future<?> recorder : recorders) {
+                recorder.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals((double) threadCount * recordsPerThread, counter.score(START_MS, DECAY_FACTORS));
+    }
+}
@@ -0,0 +1,48 @@
+package com.api.MoviePedia.util;
+
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Assertions over the SQL issued while handling a MockMvc request, or while running a block of code directly.
+ * Requests are only measured when sql-monitoring.enabled is set.
+ */
+public final class SqlStatementAssertions {
+    private SqlStatementAssertions(){
+    }
+
+    public static SqlStatementStatistics statisticsOf(MvcResult mvcResult){
+        SqlStatementStatistics statistics = (SqlStatementStatistics) mvcResult.getRequest().getAttribute(SqlStatementStatistics.REQUEST_ATTRIBUTE);
+        assertNotNull(statistics, "Request was not measured, is sql-monitoring.enabled set?");
+        return statistics;
+    }
+
+    public static SqlStatementStatistics capture(Runnable action){
+        SqlStatementStatistics statistics = new SqlStatementStatistics("test");
+        SqlStatementStatistics previous = SqlStatementStatistics.bind(statistics);
+        try {
+            action.run();
+        } finally {
+            SqlStatementStatistics.bind(previous);
+        }
+        return statistics;
+    }
+
+    public static void assertStatementCount(long expected, MvcResult mvcResult){
+        assertStatementCount(expected, statisticsOf(mvcResult));
+    }
+
+    public static void assertStatementCount(long expected, SqlStatementStatistics statistics){
+        assertEquals(expected, statistics.getStatementCount(), () -> statistics.getName() + " executed an unexpected number of SQL statements");
+    }
+
+    public static void assertNoRepeatedStatements(int threshold, SqlStatementStatistics statistics){
+        Map<String, Long> repeatedShapes = statistics.getRepeatedStatementShapes(threshold);
+        assertTrue(repeatedShapes.isEmpty(), () -> statistics.getName() + " repeated statements " + repeatedShapes);
+    }
+}
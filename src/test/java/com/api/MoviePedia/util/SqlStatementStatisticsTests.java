@@ -0,0 +1,43 @@
+package com.api.MoviePedia.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.api.MoviePedia.util.SqlStatementAssertions.assertNoRepeatedStatements;
+import static com.api.MoviePedia.util.SqlStatementAssertions.assertStatementCount;
+import static com.api.MoviePedia.util.SqlStatementAssertions.capture;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SqlStatementStatisticsTests {
+    @Test
+    void groupsStatementsByShapeIgnoringParameterListLength(){
+        SqlStatementStatistics statistics = capture(() -> {
+            SqlStatementStatistics current = SqlStatementStatistics.current();
+            current.recordStatement("select * from movie_entity where id in (?,?,?)", 1_000);
+            current.recordStatement("select * from movie_entity where id in (?, ?)", 2_000);
+            current.recordStatement("select * from director_entity where id=?", 3_000);
+            current.recordRow();
+        });
+
+        assertStatementCount(3, statistics);
+        assertEquals(1, statistics.getRowCount());
+        assertEquals(6_000, statistics.getDatabaseTimeNanos());
+        assertEquals(Map.of("select * from movie_entity where id in (?)", 2L), statistics.getRepeatedStatementShapes(2));
+        assertNoRepeatedStatements(3, statistics);
+    }
+
+    @Test
+    void propagatesStatisticsToAsyncTasks() throws Exception {
+        AtomicReference<Callable<SqlStatementStatistics>> task = new AtomicReference<>();
+        SqlStatementStatistics statistics = capture(() -> task.set(SqlStatementStatistics.propagate(SqlStatementStatistics::current)));
+
+        assertNull(SqlStatementStatistics.current());
+        assertSame(statistics, task.get().call());
+        assertNull(SqlStatementStatistics.current());
+    }
+}
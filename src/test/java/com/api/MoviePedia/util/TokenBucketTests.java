@@ -0,0 +1,97 @@
+package com.api.MoviePedia.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTests {
+    private static final int CAPACITY = 5;
+    private static final long EMISSION_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long REFILL_PERIOD_NANOS = CAPACITY * EMISSION_INTERVAL_NANOS;
+    private static final long START_NANOS = 1_000_000_000_000L;
+
+    @Test
+    void allowsABurstOfCapacityThenReportsTheWait(){
+        TokenBucket tokenBucket = new TokenBucket(CAPACITY, REFILL_PERIOD_NANOS, START_NANOS);
+
+        for (int request = 0; request < CAPACITY; request++){
+            assertEquals(0, tokenBucket.tryAcquire(START_NANOS));
+        }
+
+        assertEquals(EMISSION_INTERVAL_NANOS, tokenBucket.tryAcquire(START_NANOS));
+        assertEquals(EMISSION_INTERVAL_NANOS / 2, tokenBucket.tryAcquire(START_NANOS + EMISSION_INTERVAL_NANOS / 2));
+    }
+
+    @Test
+    void refillsOneTokenPerEmissionInterval(){
+        TokenBucket tokenBucket = new TokenBucket(CAPACITY, REFILL_PERIOD_NANOS, START_NANOS);
+        for (int request = 0; request < CAPACITY; request++){
+            tokenBucket.tryAcquire(START_NANOS);
+        }
+        long refilledNanos = START_NANOS + EMISSION_INTERVAL_NANOS;
+
+        assertEquals(0, tokenBucket.tryAcquire(refilledNanos));
+        assertEquals(EMISSION_INTERVAL_NANOS, tokenBucket.tryAcquire(refilledNanos));
+    }
+
+    @Test
+    void refillsToCapacityAndNoFurtherWhenIdle(){
+        TokenBucket tokenBucket = new TokenBucket(CAPACITY, REFILL_PERIOD_NANOS, START_NANOS);
+        assertTrue(tokenBucket.isFull(START_NANOS));
+        for (int request = 0; request < CAPACITY; request++){
+            tokenBucket.tryAcquire(START_NANOS);
+        }
+        assertFalse(tokenBucket.isFull(START_NANOS + REFILL_PERIOD_NANOS - 1));
+
+        long idleNanos = START_NANOS + 10 * REFILL_PERIOD_NANOS;
+        assertTrue(tokenBucket.isFull(idleNanos));
+        for (int request = 0; request < CAPACITY; request++){
+            assertEquals(0, tokenBucket.tryAcquire(idleNanos));
+        }
+        assertTrue(tokenBucket.tryAcquire(idleNanos) > 0);
+    }
+
+    @Test
+    void grantsExactlyCapacityTokensToConcurrentCallers() throws Exception {
+        int capacity = 1_000;
+        TokenBucket tokenBucket = new TokenBucket(capacity, TimeUnit.HOURS.toNanos(1), START_NANOS);
+        int threadCount = 8;
+        int attemptsPerThread = 500;
+        CountDownLatch startGate = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        int grantedTokens = 0;
+        try {
+            List<Future<Integer>> acquirers = new ArrayList<>();
+            for (int thread = 0; thread < threadCount; thread++){
+                acquirers.add(executor.submit(() -> {
+                    startGate.await();
+                    int granted = 0;
+                    for (int attempt = 0; attempt < attemptsPerThread; attempt++){
+                        if (tokenBucket.tryAcquire(START_NANOS) == 0){
+                            granted++;
+                        }
+                    }
+                    return granted;
+                }));
+            }
+            startGate.countDown();
+            for (Future<Integer> acquirer : acquirers) {
+                grantedTokens += acquirer.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(capacity, grantedTokens);
+    }
+}